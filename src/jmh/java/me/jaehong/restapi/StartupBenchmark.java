@@ -0,0 +1,119 @@
+package me.jaehong.restapi;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JVM 을 띄운 순간부터 GET /api 가 처음 200 으로 응답할 때까지의 시간을 기동 방식별로 잰다.
+ * {@code mvn -Pcds package} 로 만든 얇은 jar 와 CDS 아카이브를 쓰고, 데이터베이스는 매번 새로 만드는 H2 메모리 DB 다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final Path TARGET = Paths.get("target").toAbsolutePath();
+
+    @Param({"default", "fast-start", "fast-start-cds"})
+    public String mode;
+
+    private List<String> command;
+
+    private Process process;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path archive = TARGET.resolve("rest-api.jsa");
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("Run mvn -Pcds package first");
+        }
+        String h2 = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> entry.contains("h2-"))
+                .findFirst()
+                .orElseThrow();
+
+        command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (mode.endsWith("-cds")) {
+            command.add("-Xshare:on");
+            command.add("-XX:SharedArchiveFile=" + archive);
+        }
+        command.add("-Dspring.datasource.password=");
+        command.add("-cp");
+        command.add(thinJar() + File.pathSeparator + h2);
+        command.add(RestApiApplication.class.getName());
+        if (mode.startsWith("fast-start")) {
+            command.add("--spring.profiles.active=fast-start");
+        }
+        command.add("--management.server.port=0");
+        command.add("--spring.datasource.url=jdbc:h2:mem:startup");
+        command.add("--spring.datasource.username=sa");
+        command.add("--spring.datasource.driver-class-name=org.h2.Driver");
+        command.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        command.add("--logging.level.root=WARN");
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        process.destroy();
+        process.waitFor();
+    }
+
+    @Benchmark
+    public int timeToFirst200() throws Exception {
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(command);
+        arguments.add("--server.port=" + port);
+        process = new ProcessBuilder(arguments)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+
+        URL index = new URL("http://localhost:" + port + "/api");
+        while (true) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue());
+            }
+            try {
+                HttpURLConnection connection = (HttpURLConnection) index.openConnection();
+                int status = connection.getResponseCode();
+                connection.disconnect();
+                if (status == 200) {
+                    return status;
+                }
+            } catch (IOException e) {
+                // 아직 포트를 열지 않았다
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static Path thinJar() throws IOException {
+        try (var jars = Files.list(TARGET)) {
+            return jars.filter(path -> path.getFileName().toString().matches("rest-api-.*\\.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Run mvn -Pcds package first"));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
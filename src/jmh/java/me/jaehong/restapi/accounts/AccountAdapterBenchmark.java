@@ -0,0 +1,32 @@
+package me.jaehong.restapi.accounts;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountAdapterBenchmark {
+
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        account = Account.builder()
+                .id(1)
+                .email("user@email.com")
+                .password("{bcrypt}$2a$10$abcdefghijklmnopqrstuv")
+                .roles(Set.of(AccountRole.ADMIN, AccountRole.USER))
+                .build();
+    }
+
+    @Benchmark
+    public AccountAdapter accountAdapter() {
+        return new AccountAdapter(account);
+    }
+}
@@ -0,0 +1,77 @@
+package me.jaehong.restapi.accounts;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 컨트롤러 파라미터 하나에 로그인한 계정을 넘기는 비용을 잰다.
+ * spelExpression 은 이전의 {@code @AuthenticationPrincipal(expression = ...)} 처럼 요청마다 SpEL 을 파싱하고 평가한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CurrentUserResolverBenchmark {
+
+    private AuthenticationPrincipalArgumentResolver spelResolver;
+
+    private CurrentUserArgumentResolver currentUserResolver;
+
+    private MethodParameter spelParameter;
+
+    private MethodParameter currentUserParameter;
+
+    private NativeWebRequest request;
+
+    @Setup
+    public void setUp() throws Exception {
+        Account account = Account.builder()
+                .id(1)
+                .email("user@email.com")
+                .password("{bcrypt}$2a$10$abcdefghijklmnopqrstuv")
+                .roles(Set.of(AccountRole.ADMIN, AccountRole.USER))
+                .build();
+        AccountAdapter principal = new AccountAdapter(account);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        spelResolver = new AuthenticationPrincipalArgumentResolver();
+        currentUserResolver = new CurrentUserArgumentResolver();
+        spelParameter = new MethodParameter(CurrentUserResolverBenchmark.class.getDeclaredMethod("spelHandler", AccountPrincipal.class), 0);
+        currentUserParameter = new MethodParameter(CurrentUserResolverBenchmark.class.getDeclaredMethod("currentUserHandler", AccountPrincipal.class), 0);
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/events/1"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object spelExpression() throws Exception {
+        return spelResolver.resolveArgument(spelParameter, null, request, null);
+    }
+
+    @Benchmark
+    public Object currentUser() {
+        return currentUserResolver.resolveArgument(currentUserParameter, null, request, null);
+    }
+
+    void spelHandler(@AuthenticationPrincipal(expression = "#this == 'anonymousUser' ? null : account") AccountPrincipal account) {
+    }
+
+    void currentUserHandler(@CurrentUser AccountPrincipal account) {
+    }
+}
@@ -0,0 +1,63 @@
+package me.jaehong.restapi.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.jaehong.restapi.events.EventDto;
+import me.jaehong.restapi.events.EventValidator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorsSerializerBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private Errors errors;
+
+    @Setup
+    public void setUp() {
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest("POST", "/api/events")));
+
+        objectMapper = new ObjectMapper().registerModule(new SimpleModule().addSerializer(Errors.class, new ErrorsSerializer()));
+        EventDto eventDto = EventDto.builder()
+                .beginEnrollmentDateTime(LocalDateTime.of(2019, 9, 30, 15, 27))
+                .closeEnrollmentDateTime(LocalDateTime.of(2019, 10, 1, 15, 27))
+                .beginEventDateTime(LocalDateTime.of(2019, 10, 2, 15, 27))
+                .endEventDateTime(LocalDateTime.of(2019, 10, 1, 15, 27))
+                .basePrice(10000)
+                .maxPrice(200)
+                .build();
+        errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        new EventValidator(new SimpleMeterRegistry()).validate(eventDto, errors);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public String serializeErrors() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(errors);
+    }
+
+    @Benchmark
+    public ErrorsResource errorsResource() {
+        return new ErrorsResource(errors);
+    }
+}
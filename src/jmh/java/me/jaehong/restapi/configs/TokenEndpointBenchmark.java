@@ -0,0 +1,79 @@
+package me.jaehong.restapi.configs;
+
+import me.jaehong.restapi.RestApiApplication;
+import me.jaehong.restapi.common.AppProperties;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * 여러 스레드가 동시에 POST /oauth/token 으로 password 그랜트를 요청할 때의 처리량을 자격 증명 캐시 유무로 비교한다.
+ * 요청마다 클라이언트 시크릿과 사용자 비밀번호를 한 번씩 검증한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(4)
+@Fork(1)
+public class TokenEndpointBenchmark {
+
+    @Param({"0s", "5m"})
+    public String passwordCacheTimeToLive;
+
+    private ConfigurableApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    private AppProperties appProperties;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(RestApiApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--management.server.port=0",
+                        "--my-app.password-cache-time-to-live=" + passwordCacheTimeToLive,
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.springframework.security=WARN");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+        appProperties = context.getBean(AppProperties.class);
+
+        // 시큐리티 요청 매처는 첫 요청에서 지연 초기화되는데 동시에 초기화되면 NPE 가 나므로 한 번 먼저 부른다
+        passwordGrant();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult passwordGrant() throws Exception {
+        MvcResult result = mockMvc.perform(post("/oauth/token")
+                .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))
+                .param("username", appProperties.getUserUsername())
+                .param("password", appProperties.getUserPassword())
+                .param("grant_type", "password"))
+                .andReturn();
+        if (result.getResponse().getStatus() != 200) {
+            throw new IllegalStateException(result.getResponse().getContentAsString());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,105 @@
+package me.jaehong.restapi.configs;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.jaehong.restapi.accounts.Account;
+import me.jaehong.restapi.accounts.AccountAdapter;
+import me.jaehong.restapi.accounts.AccountRole;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.security.oauth2.provider.token.store.InMemoryTokenStore;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리소스 서버가 요청마다 하는 토큰 조회(readAccessToken + readAuthentication)의 지연 시간 분포를 저장소별로 비교한다.
+ * SampleTime 모드라 p99 가 함께 출력된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenStoreBenchmark {
+
+    private static final int TOKENS = 1000;
+
+    @Param({"inMemory", "jdbc", "cachingJdbc"})
+    public String store;
+
+    private TokenStore tokenStore;
+
+    private String[] tokenValues;
+
+    private int next;
+
+    @Setup
+    public void setUp() throws SQLException {
+        // 로그 출력이 JDBC 조회 시간을 덮지 않도록 한다
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        tokenStore = createTokenStore();
+        tokenValues = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            DefaultOAuth2AccessToken token = new DefaultOAuth2AccessToken(UUID.randomUUID().toString());
+            token.setExpiration(new Date(System.currentTimeMillis() + 3_600_000));
+            tokenStore.storeAccessToken(token, buildAuthentication(i));
+            tokenValues[i] = token.getValue();
+        }
+    }
+
+    private TokenStore createTokenStore() throws SQLException {
+        if ("inMemory".equals(store)) {
+            return new InMemoryTokenStore();
+        }
+
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:tokens-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V2__oauth_tokens.sql"));
+        }
+        ExpiringJdbcTokenStore jdbcTokenStore = new ExpiringJdbcTokenStore(dataSource);
+        if ("jdbc".equals(store)) {
+            return jdbcTokenStore;
+        }
+        return new CachingTokenStore(jdbcTokenStore, 10_000, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    private OAuth2Authentication buildAuthentication(int i) {
+        Account account = Account.builder()
+                .id(i)
+                .email("user" + i + "@email.com")
+                .password("{bcrypt}$2a$10$abcdefghijklmnopqrstuv")
+                .roles(Set.of(AccountRole.USER))
+                .build();
+        AccountAdapter principal = new AccountAdapter(account);
+        OAuth2Request request = new OAuth2Request(Map.of(), "myApp", principal.getAuthorities(), true,
+                Set.of("read", "write"), Set.of(), null, Set.of(), Map.of());
+        return new OAuth2Authentication(request,
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @Benchmark
+    public OAuth2Authentication loadAuthentication() {
+        String tokenValue = tokenValues[next++ % TOKENS];
+        OAuth2AccessToken token = tokenStore.readAccessToken(tokenValue);
+        return tokenStore.readAuthentication(token);
+    }
+}
@@ -0,0 +1,110 @@
+package me.jaehong.restapi.enrollments;
+
+import me.jaehong.restapi.RestApiApplication;
+import me.jaehong.restapi.accounts.Account;
+import me.jaehong.restapi.accounts.AccountRepository;
+import me.jaehong.restapi.accounts.AccountRole;
+import me.jaehong.restapi.common.AppProperties;
+import me.jaehong.restapi.events.Event;
+import me.jaehong.restapi.events.EventFixtures;
+import me.jaehong.restapi.events.EventRepository;
+import me.jaehong.restapi.events.EventStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1000 명이 한 이벤트에 동시에 신청을 마칠 때까지의 시간을 잰다. 정원은 절반이라 나머지는 대기 명단에 오른다.
+ * stripes=1 은 남은 자리 한 행을 조건부 UPDATE 하는 경우와 같다.
+ * 테스트 프로필(H2)로 애플리케이션 컨텍스트를 띄우고 {@link EnrollmentService} 를 직접 부른다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EnrollmentBenchmark {
+
+    private static final int CLIENTS = 1000;
+
+    @Param({"1", "8"})
+    public int stripes;
+
+    private ConfigurableApplicationContext context;
+
+    private EnrollmentService enrollmentService;
+
+    private EventRepository eventRepository;
+
+    private List<Account> accounts;
+
+    private ExecutorService executor;
+
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(RestApiApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--management.server.port=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.springframework.security=WARN");
+        context.getBean(AppProperties.class).setEnrollmentStripes(stripes);
+        enrollmentService = context.getBean(EnrollmentService.class);
+        eventRepository = context.getBean(EventRepository.class);
+
+        List<Account> newAccounts = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            newAccounts.add(Account.builder()
+                    .email("enrollee" + i + "@email.com")
+                    .password("enrollee")
+                    .roles(Set.of(AccountRole.USER))
+                    .build());
+        }
+        accounts = context.getBean(AccountRepository.class).saveAll(newAccounts);
+        executor = Executors.newFixedThreadPool(CLIENTS);
+    }
+
+    @Setup(Level.Invocation)
+    public void openEvent() {
+        event = eventRepository.save(EventFixtures.event("popular event")
+                .limitOfEnrollment(CLIENTS / 2)
+                .eventStatus(EventStatus.BEGAN_ENROLLMENT)
+                .build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public void enroll() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Enrollment>> enrollments = new ArrayList<>(CLIENTS);
+        for (Account account : accounts) {
+            enrollments.add(executor.submit(() -> {
+                start.await();
+                return enrollmentService.enroll(event, account);
+            }));
+        }
+        start.countDown();
+        for (Future<Enrollment> enrollment : enrollments) {
+            enrollment.get();
+        }
+    }
+}
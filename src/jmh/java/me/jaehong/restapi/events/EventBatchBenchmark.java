@@ -0,0 +1,111 @@
+package me.jaehong.restapi.events;
+
+import me.jaehong.restapi.RestApiApplication;
+import me.jaehong.restapi.accounts.AccountAdapter;
+import me.jaehong.restapi.accounts.AccountPrincipal;
+import me.jaehong.restapi.accounts.AccountService;
+import me.jaehong.restapi.common.AppProperties;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * POST /api/events 를 한 건씩 부르는 경우와 /api/events/batch 로 한 번에 보내는 경우의 이벤트당 처리량을 비교한다.
+ * 테스트 프로필(H2)로 애플리케이션 컨텍스트를 띄우고 컨트롤러를 직접 호출한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EventBatchBenchmark {
+
+    private static final int EVENTS = 100;
+
+    private ConfigurableApplicationContext context;
+
+    private EventController eventController;
+
+    private EventRepository eventRepository;
+
+    private AccountPrincipal manager;
+
+    private List<EventDto> eventDtos;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(RestApiApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--management.server.port=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.springframework.security=WARN");
+        eventController = context.getBean(EventController.class);
+        eventRepository = context.getBean(EventRepository.class);
+        manager = ((AccountAdapter) context.getBean(AccountService.class)
+                .loadUserByUsername(context.getBean(AppProperties.class).getUserUsername())).getPrincipal();
+
+        eventDtos = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            eventDtos.add(EventDto.builder()
+                    .name("event" + i)
+                    .description("REST API development")
+                    .beginEnrollmentDateTime(LocalDateTime.of(2019, 9, 30, 15, 27))
+                    .closeEnrollmentDateTime(LocalDateTime.of(2019, 10, 1, 15, 27))
+                    .beginEventDateTime(LocalDateTime.of(2019, 10, 2, 15, 27))
+                    .endEventDateTime(LocalDateTime.of(2019, 10, 3, 15, 27))
+                    .basePrice(100)
+                    .maxPrice(200)
+                    .limitOfEnrollment(100)
+                    .location("경성대학교")
+                    .build());
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void bindRequest() {
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest("POST", "/api/events")));
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearEvents() {
+        eventRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void singleCreates() {
+        for (EventDto eventDto : eventDtos) {
+            ResponseEntity response = eventController.createEvent(eventDto, new BeanPropertyBindingResult(eventDto, "eventDto"), manager);
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                throw new IllegalStateException(response.toString());
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public ResponseEntity batchCreate() {
+        return eventController.createEvents(eventDtos, manager);
+    }
+}
@@ -0,0 +1,101 @@
+package me.jaehong.restapi.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventHotPathBenchmark {
+
+    private EventValidator eventValidator;
+
+    private ModelMapper modelMapper;
+
+    private EventMapper eventMapper;
+
+    private EventDto eventDto;
+
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest("GET", "/api/events")));
+
+        eventValidator = new EventValidator(new SimpleMeterRegistry());
+        modelMapper = new ModelMapper();
+        eventMapper = new EventMapper();
+        eventDto = EventDto.builder()
+                .name("Spring")
+                .description("REST API development")
+                .beginEnrollmentDateTime(LocalDateTime.of(2019, 9, 30, 15, 27))
+                .closeEnrollmentDateTime(LocalDateTime.of(2019, 10, 1, 15, 27))
+                .beginEventDateTime(LocalDateTime.of(2019, 10, 2, 15, 27))
+                .endEventDateTime(LocalDateTime.of(2019, 10, 3, 15, 27))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("경성대학교")
+                .build();
+        event = eventMapper.toEvent(eventDto);
+        event.setId(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public Errors validate() {
+        Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        eventValidator.validate(eventDto, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public Event update() {
+        event.update();
+        return event;
+    }
+
+    @Benchmark
+    public Event modelMapperToEvent() {
+        return modelMapper.map(eventDto, Event.class);
+    }
+
+    @Benchmark
+    public Event eventMapperToEvent() {
+        return eventMapper.toEvent(eventDto);
+    }
+
+    @Benchmark
+    public Event modelMapperUpdate() {
+        modelMapper.map(eventDto, event);
+        return event;
+    }
+
+    @Benchmark
+    public Event eventMapperUpdate() {
+        eventMapper.update(eventDto, event);
+        return event;
+    }
+
+    @Benchmark
+    public EventResource eventResource() {
+        return new EventResource(event);
+    }
+}
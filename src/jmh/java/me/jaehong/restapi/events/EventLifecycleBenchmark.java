@@ -0,0 +1,102 @@
+package me.jaehong.restapi.events;
+
+import me.jaehong.restapi.RestApiApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 100만 건의 공개 이벤트를 {@link EventLifecycle#advance} 한 번으로 옮기는 시간을 잰다.
+ * pending=all 은 모든 행이 옮겨야 하는 상태이고, pending=none 은 이미 옮긴 뒤의 주기 실행(인덱스 조회만 한다)이다.
+ * 테스트 프로필(H2)로 애플리케이션 컨텍스트를 띄우고 Flyway 스키마의 인덱스를 그대로 쓴다.
+ * H2 의 전문 검색 트리거는 어느 컬럼을 바꾸든 행을 다시 색인하므로 뗀다. PostgreSQL 트리거는 이름, 설명, 장소를 바꿀 때만 돈다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class EventLifecycleBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2019, 7, 1, 0, 0);
+
+    @Param({"all", "none"})
+    public String pending;
+
+    private ConfigurableApplicationContext context;
+
+    private EventLifecycle eventLifecycle;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(RestApiApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--management.server.port=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.springframework.security=WARN");
+        eventLifecycle = context.getBean(EventLifecycle.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("call FT_DROP_INDEX('PUBLIC', 'EVENT')");
+
+        // 등록 시작은 NOW 전 1년 안에 고르게 두어 모든 행이 적어도 BEGAN_ENROLLMENT 로 간다
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(1000);
+        for (int i = 1; i <= ROWS; i++) {
+            LocalDateTime beginEnrollment = NOW.minusMinutes(1 + random.nextInt(60 * 24 * 365));
+            rows.add(new Object[]{i, "event" + i,
+                    Timestamp.valueOf(beginEnrollment),
+                    Timestamp.valueOf(beginEnrollment.plusDays(7)),
+                    Timestamp.valueOf(beginEnrollment.plusDays(14)),
+                    Timestamp.valueOf(beginEnrollment.plusDays(15))});
+            if (rows.size() == 1000) {
+                insert(rows);
+                rows.clear();
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void publish() {
+        // 한 번에 100만 건을 바꾸면 H2 가 트랜잭션 로그를 힙에 쌓다가 메모리가 모자란다
+        for (int id = 1; id <= ROWS; id += 10_000) {
+            jdbcTemplate.update("update event set event_status = 'PUBLISHED' where id between ? and ?", id, id + 9_999);
+        }
+        if (pending.equals("none")) {
+            eventLifecycle.advance(NOW);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<EventStatus, Integer> advance() {
+        return eventLifecycle.advance(NOW);
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("insert into event (id, name, description, " +
+                "begin_enrollment_date_time, close_enrollment_date_time, begin_event_date_time, end_event_date_time, " +
+                "base_price, max_price, limit_of_enrollment, offline, free, event_status, version) " +
+                "values (?, ?, 'REST API development', ?, ?, ?, ?, 100, 200, 100, false, false, 'PUBLISHED', 0)", rows);
+    }
+}
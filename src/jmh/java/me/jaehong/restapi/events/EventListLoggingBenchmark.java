@@ -0,0 +1,98 @@
+package me.jaehong.restapi.events;
+
+import me.jaehong.restapi.RestApiApplication;
+import me.jaehong.restapi.accounts.Account;
+import me.jaehong.restapi.accounts.AccountRepository;
+import me.jaehong.restapi.common.AppProperties;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * GET /api/events 처리량을 dev 로그 설정(SQL, 바인딩 값, 시큐리티 DEBUG 를 콘솔에 동기로)과
+ * prod 로그 설정(비동기 파일 로그, SQL 샘플링)으로 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class EventListLoggingBenchmark {
+
+    private static final int EVENTS = 100;
+
+    @Param({"dev", "prod"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(RestApiApplication.class)
+                .profiles("test", profile)
+                .run("--server.port=0",
+                        "--management.server.port=0",
+                        "--logging.file=" + System.getProperty("java.io.tmpdir") + "/rest-api-benchmark.log");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+
+        Account manager = context.getBean(AccountRepository.class)
+                .findByEmail(context.getBean(AppProperties.class).getUserUsername())
+                .orElseThrow();
+        List<Event> events = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            events.add(Event.builder()
+                    .name("event" + i)
+                    .description("REST API development")
+                    .beginEnrollmentDateTime(LocalDateTime.of(2019, 9, 30, 15, 27))
+                    .closeEnrollmentDateTime(LocalDateTime.of(2019, 10, 1, 15, 27))
+                    .beginEventDateTime(LocalDateTime.of(2019, 10, 2, 15, 27))
+                    .endEventDateTime(LocalDateTime.of(2019, 10, 3, 15, 27))
+                    .basePrice(100)
+                    .maxPrice(200)
+                    .limitOfEnrollment(100)
+                    .location("경성대학교")
+                    .manager(manager)
+                    .build());
+        }
+        context.getBean(EventRepository.class).saveAll(events);
+
+        // 시큐리티 요청 매처는 첫 요청에서 지연 초기화되는데 동시에 초기화되면 NPE 가 나므로 한 번 먼저 부른다
+        queryEvents();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult queryEvents() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/events")
+                .param("page", "1")
+                .param("size", "20")
+                .param("sort", "name,DESC"))
+                .andReturn();
+        if (result.getResponse().getStatus() != 200) {
+            throw new IllegalStateException(result.getResponse().getContentAsString());
+        }
+        return result;
+    }
+}
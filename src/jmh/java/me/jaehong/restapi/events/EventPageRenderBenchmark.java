@@ -0,0 +1,72 @@
+package me.jaehong.restapi.events;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.Resource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+
+/**
+ * 100개짜리 이벤트 페이지의 링크를 만드는 비용을 ControllerLinkBuilder 와 EventLinks 로 비교한다.
+ * 요청마다 base URI 를 새로 계산하도록 호출마다 새 요청을 묶는다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventPageRenderBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private List<Event> events;
+
+    @Setup
+    public void setUp() {
+        events = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            events.add(Event.builder()
+                    .id(i + 1)
+                    .name("event" + i)
+                    .beginEventDateTime(LocalDateTime.of(2019, 10, 2, 15, 27))
+                    .build());
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void bindRequest() {
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest("GET", "/api/events")));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<Resource<Event>> controllerLinkBuilder() {
+        List<Resource<Event>> resources = new ArrayList<>(PAGE_SIZE);
+        for (Event event : events) {
+            resources.add(new Resource<>(event, linkTo(EventController.class).slash(event.getId()).withSelfRel()));
+        }
+        return resources;
+    }
+
+    @Benchmark
+    public List<Resource<Event>> eventLinks() {
+        List<Resource<Event>> resources = new ArrayList<>(PAGE_SIZE);
+        for (Event event : events) {
+            resources.add(new EventResource(event));
+        }
+        return resources;
+    }
+}
@@ -0,0 +1,90 @@
+package me.jaehong.restapi.events;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 깊은 페이지에서 OFFSET/LIMIT + count(*) 와 id 키셋 조회의 지연 시간을 비교한다.
+ * GET /api/events 의 두 모드가 실행하는 SQL 모양을 그대로 흉내낸다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventPagingBenchmark {
+
+    private static final int ROWS = 500_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "100000", "499000"})
+    public int offset;
+
+    private Connection connection;
+
+    private PreparedStatement offsetQuery;
+
+    private PreparedStatement countQuery;
+
+    private PreparedStatement keysetQuery;
+
+    @Setup
+    public void setUp() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:paging;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE");
+        connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists event");
+            statement.execute("create table event (id int primary key, name varchar(255), begin_event_date_time timestamp)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("insert into event values (?, ?, ?)")) {
+            for (int i = 1; i <= ROWS; i++) {
+                insert.setInt(1, i);
+                insert.setString(2, "event" + i);
+                insert.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+                insert.addBatch();
+                if (i % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+        }
+
+        offsetQuery = connection.prepareStatement("select * from event order by id limit ? offset ?");
+        countQuery = connection.prepareStatement("select count(*) from event");
+        keysetQuery = connection.prepareStatement("select * from event where id > ? order by id limit ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void offsetPage(Blackhole blackhole) throws SQLException {
+        offsetQuery.setInt(1, PAGE_SIZE);
+        offsetQuery.setInt(2, offset);
+        consume(offsetQuery, blackhole);
+        consume(countQuery, blackhole);
+    }
+
+    @Benchmark
+    public void keysetPage(Blackhole blackhole) throws SQLException {
+        keysetQuery.setInt(1, offset);
+        keysetQuery.setInt(2, PAGE_SIZE + 1);
+        consume(keysetQuery, blackhole);
+    }
+
+    private void consume(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getInt(1));
+            }
+        }
+    }
+}
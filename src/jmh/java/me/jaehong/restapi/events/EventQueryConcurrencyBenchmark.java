@@ -0,0 +1,132 @@
+package me.jaehong.restapi.events;
+
+import me.jaehong.restapi.RestApiApplication;
+import me.jaehong.restapi.accounts.Account;
+import me.jaehong.restapi.accounts.AccountRepository;
+import me.jaehong.restapi.common.AppProperties;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실제 톰캣에 동시 연결 2000 개로 GET /api/events 를 보내 조회 모드별로 비교한다.
+ * eventWave 는 2000 개 요청이 모두 끝날 때까지의 시간이고, indexUnderLoad 는 그동안 DB 를 쓰지 않는 GET /api 의 응답 시간이다.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EventQueryConcurrencyBenchmark {
+
+    private static final int CONNECTIONS = 2000;
+
+    private static final int EVENTS = 100;
+
+    @Param({"blocking", "async"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+
+    private ExecutorService clientExecutor;
+
+    private HttpClient client;
+
+    private HttpRequest eventsRequest;
+
+    private HttpRequest indexRequest;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(RestApiApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--management.server.port=0",
+                        "--my-app.event-query-mode=" + mode,
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.springframework.security=WARN");
+
+        Account manager = context.getBean(AccountRepository.class)
+                .findByEmail(context.getBean(AppProperties.class).getUserUsername())
+                .orElseThrow();
+        List<Event> events = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            events.add(Event.builder()
+                    .name("event" + i)
+                    .description("REST API development")
+                    .beginEnrollmentDateTime(LocalDateTime.of(2019, 9, 30, 15, 27))
+                    .closeEnrollmentDateTime(LocalDateTime.of(2019, 10, 1, 15, 27))
+                    .beginEventDateTime(LocalDateTime.of(2019, 10, 2, 15, 27))
+                    .endEventDateTime(LocalDateTime.of(2019, 10, 3, 15, 27))
+                    .basePrice(100)
+                    .maxPrice(200)
+                    .limitOfEnrollment(100)
+                    .location("경성대학교")
+                    .manager(manager)
+                    .build());
+        }
+        context.getBean(EventRepository.class).saveAll(events);
+
+        String baseUri = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        clientExecutor = Executors.newFixedThreadPool(2);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        eventsRequest = HttpRequest.newBuilder(URI.create(baseUri + "/api/events?page=1&size=20&sort=name,DESC")).build();
+        indexRequest = HttpRequest.newBuilder(URI.create(baseUri + "/api")).build();
+
+        // 시큐리티 요청 매처는 첫 요청에서 지연 초기화되는데 동시에 초기화되면 NPE 가 나므로 한 번 먼저 부른다
+        indexUnderLoad();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        clientExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @Group("concurrent")
+    public int eventWave() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(CONNECTIONS);
+        for (int i = 0; i < CONNECTIONS; i++) {
+            responses.add(client.sendAsync(eventsRequest, HttpResponse.BodyHandlers.discarding()));
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            int status = response.join().statusCode();
+            if (status != 200) {
+                throw new IllegalStateException("GET /api/events returned " + status);
+            }
+            ok++;
+        }
+        return ok;
+    }
+
+    @Benchmark
+    @Group("concurrent")
+    public int indexUnderLoad() throws Exception {
+        int status = client.send(indexRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("GET /api returned " + status);
+        }
+        return status;
+    }
+}
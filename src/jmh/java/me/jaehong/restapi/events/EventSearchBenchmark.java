@@ -0,0 +1,145 @@
+package me.jaehong.restapi.events;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 100만 건에서 GET /api/events 조건 조회의 지연 시간을 잰다.
+ * 스키마는 Flyway 마이그레이션을 그대로 적용해 운영과 같은 인덱스를 쓰고,
+ * 허용한 정렬(name, 인덱스 있음)과 막아 둔 정렬(description, 인덱스 없음), 인덱스를 타는 범위 조건을 비교한다.
+ * H2 는 등호 조건 뒤의 정렬을 인덱스로 대신하지 못하므로 상태 조건은 날짜 범위와 함께 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class EventSearchBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final EventStatus[] STATUSES = EventStatus.values();
+
+    private Connection connection;
+
+    private PreparedStatement sortedByName;
+
+    private PreparedStatement sortedByDescription;
+
+    private PreparedStatement statusAndBeginEventRange;
+
+    private PreparedStatement priceRangeById;
+
+    @Setup
+    public void setUp() throws SQLException {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:search;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2019, 1, 1, 0, 0);
+        try (PreparedStatement insert = connection.prepareStatement("insert into event (id, name, description, " +
+                "begin_enrollment_date_time, close_enrollment_date_time, begin_event_date_time, end_event_date_time, " +
+                "location, base_price, max_price, limit_of_enrollment, offline, free, event_status, version) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)")) {
+            for (int i = 1; i <= ROWS; i++) {
+                LocalDateTime beginEnrollment = base.plusMinutes(random.nextInt(60 * 24 * 365));
+                int basePrice = random.nextInt(10) == 0 ? 0 : random.nextInt(10_000);
+                insert.setInt(1, i);
+                insert.setString(2, "event" + random.nextInt(ROWS));
+                insert.setString(3, "description" + random.nextInt(ROWS));
+                insert.setTimestamp(4, Timestamp.valueOf(beginEnrollment));
+                insert.setTimestamp(5, Timestamp.valueOf(beginEnrollment.plusDays(7)));
+                insert.setTimestamp(6, Timestamp.valueOf(beginEnrollment.plusDays(14)));
+                insert.setTimestamp(7, Timestamp.valueOf(beginEnrollment.plusDays(15)));
+                insert.setString(8, i % 2 == 0 ? "경성대학교" : null);
+                insert.setInt(9, basePrice);
+                insert.setInt(10, basePrice * 2);
+                insert.setInt(11, 100);
+                insert.setBoolean(12, i % 2 == 0);
+                insert.setBoolean(13, basePrice == 0);
+                insert.setString(14, STATUSES[i % STATUSES.length].name());
+                insert.addBatch();
+                if (i % 1000 == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze");
+        }
+
+        sortedByName = connection.prepareStatement(
+                "select * from event order by name limit ?");
+        sortedByDescription = connection.prepareStatement(
+                "select * from event order by description limit ?");
+        statusAndBeginEventRange = connection.prepareStatement(
+                "select * from event where event_status = ? and begin_event_date_time between ? and ? " +
+                        "order by begin_event_date_time limit ?");
+        priceRangeById = connection.prepareStatement(
+                "select * from event where free = false and base_price between ? and ? order by id limit ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void sortedByName(Blackhole blackhole) throws SQLException {
+        sortedByName.setInt(1, PAGE_SIZE + 1);
+        consume(sortedByName, blackhole);
+    }
+
+    @Benchmark
+    public void sortedByDescription(Blackhole blackhole) throws SQLException {
+        sortedByDescription.setInt(1, PAGE_SIZE + 1);
+        consume(sortedByDescription, blackhole);
+    }
+
+    @Benchmark
+    public void statusAndBeginEventRange(Blackhole blackhole) throws SQLException {
+        statusAndBeginEventRange.setString(1, EventStatus.PUBLISHED.name());
+        statusAndBeginEventRange.setTimestamp(2, Timestamp.valueOf(LocalDateTime.of(2019, 3, 1, 0, 0)));
+        statusAndBeginEventRange.setTimestamp(3, Timestamp.valueOf(LocalDateTime.of(2019, 3, 2, 0, 0)));
+        statusAndBeginEventRange.setInt(4, PAGE_SIZE + 1);
+        consume(statusAndBeginEventRange, blackhole);
+    }
+
+    @Benchmark
+    public void priceRangeSortedById(Blackhole blackhole) throws SQLException {
+        priceRangeById.setInt(1, 1000);
+        priceRangeById.setInt(2, 1100);
+        priceRangeById.setInt(3, PAGE_SIZE + 1);
+        consume(priceRangeById, blackhole);
+    }
+
+    private void consume(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getInt(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package me.jaehong.restapi.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import me.jaehong.restapi.accounts.Account;
+import me.jaehong.restapi.common.AppProperties;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.core.DefaultRelProvider;
+import org.springframework.hateoas.hal.Jackson2HalModule;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이벤트 하나와 20개짜리 페이지의 HAL 본문을 만드는 비용을 Jackson 직렬화와 캐시한 본문 복사로 비교한다.
+ * 링크 생성은 두 경우 모두 포함하고, 캐시는 미리 채워 둔다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectMapper halObjectMapper;
+
+    private EventRepresentationCache cache;
+
+    private List<Event> events;
+
+    private PagedResources.PageMetadata metadata;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        // 스프링 HATEOAS 가 HAL 컨버터를 만들 때처럼 애플리케이션 ObjectMapper 를 복사해 HAL 모듈을 붙인다
+        halObjectMapper = objectMapper.copy();
+        halObjectMapper.registerModule(new Jackson2HalModule());
+        halObjectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(new DefaultRelProvider(),
+                null, new MessageSourceAccessor(new StaticMessageSource())));
+        cache = new EventRepresentationCache(objectMapper, new AppProperties());
+
+        Account manager = Account.builder().id(1).email("user@email.com").build();
+        events = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            events.add(Event.builder()
+                    .id(i + 1)
+                    .name("event" + i)
+                    .description("REST API development")
+                    .beginEnrollmentDateTime(LocalDateTime.of(2019, 9, 30, 15, 27))
+                    .closeEnrollmentDateTime(LocalDateTime.of(2019, 10, 1, 15, 27))
+                    .beginEventDateTime(LocalDateTime.of(2019, 10, 2, 15, 27))
+                    .endEventDateTime(LocalDateTime.of(2019, 10, 3, 15, 27))
+                    .basePrice(100)
+                    .maxPrice(200)
+                    .limitOfEnrollment(100)
+                    .location("경성대학교")
+                    .eventStatus(EventStatus.PUBLISHED)
+                    .manager(manager)
+                    .version(3L)
+                    .lastModifiedDateTime(LocalDateTime.of(2019, 9, 1, 10, 0))
+                    .build());
+        }
+        metadata = new PagedResources.PageMetadata(PAGE_SIZE, 0, 1000);
+
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest("GET", "/api/events")));
+        cache.embedded(events);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public byte[] jacksonEvent() throws Exception {
+        Event event = events.get(0);
+        EventResource resource = new EventResource(event);
+        resource.add(EventLinks.getProfile());
+        resource.add(EventLinks.updateEvent(event.getId()));
+        return halObjectMapper.writeValueAsBytes(resource);
+    }
+
+    @Benchmark
+    public byte[] cachedEvent() throws Exception {
+        Event event = events.get(0);
+        return halObjectMapper.writeValueAsBytes(cache.toJson(event,
+                EventLinks.self(event.getId()), EventLinks.getProfile(), EventLinks.updateEvent(event.getId())));
+    }
+
+    @Benchmark
+    public byte[] jacksonPage() throws Exception {
+        List<EventResource> resources = new ArrayList<>(PAGE_SIZE);
+        for (Event event : events) {
+            resources.add(new EventResource(event));
+        }
+        PagedResources<EventResource> page = new PagedResources<>(resources, metadata, EventLinks.listProfile());
+        return halObjectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] cachedPage() throws Exception {
+        PagedResources<?> page = new PagedResources<>(cache.embedded(events), metadata, EventLinks.listProfile());
+        return halObjectMapper.writeValueAsBytes(page);
+    }
+}
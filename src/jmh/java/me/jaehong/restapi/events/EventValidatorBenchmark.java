@@ -0,0 +1,124 @@
+package me.jaehong.restapi.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이벤트 수천 건을 검사하는 시간을 잰다. 열 건에 한 건은 날짜나 가격이 잘못되어 있다.
+ * legacy 는 게터를 규칙마다 다시 읽고 LocalDateTime 끼리 비교하던 이전 방식이다(자기 자신과 비교하던 버그만 고쳤다).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventValidatorBenchmark {
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private EventValidator eventValidator;
+
+    private List<EventDto> eventDtos;
+
+    @Setup
+    public void setUp() {
+        eventValidator = new EventValidator(new SimpleMeterRegistry());
+        Random random = new Random(1);
+        LocalDateTime base = LocalDateTime.of(2019, 9, 30, 15, 27);
+        eventDtos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime begin = base.plusMinutes(random.nextInt(100_000));
+            EventDto eventDto = EventDto.builder()
+                    .name("Spring")
+                    .description("REST API development")
+                    .beginEnrollmentDateTime(begin)
+                    .closeEnrollmentDateTime(begin.plusDays(1))
+                    .beginEventDateTime(begin.plusDays(2))
+                    .endEventDateTime(begin.plusDays(3))
+                    .basePrice(100)
+                    .maxPrice(200)
+                    .limitOfEnrollment(100)
+                    .build();
+            if (i % 10 == 0) {
+                eventDto.setEndEventDateTime(begin.plusHours(36));
+                eventDto.setBasePrice(10000);
+            }
+            eventDtos.add(eventDto);
+        }
+    }
+
+    @Benchmark
+    public void legacyRules(Blackhole blackhole) {
+        for (EventDto eventDto : eventDtos) {
+            blackhole.consume(legacyViolations(eventDto));
+        }
+    }
+
+    @Benchmark
+    public void rules(Blackhole blackhole) {
+        for (EventDto eventDto : eventDtos) {
+            blackhole.consume(EventValidator.violations(eventDto));
+        }
+    }
+
+    @Benchmark
+    public List<Errors> validate() {
+        List<Errors> errors = newErrors();
+        for (int i = 0; i < eventDtos.size(); i++) {
+            eventValidator.validate(eventDtos.get(i), errors.get(i));
+        }
+        return errors;
+    }
+
+    @Benchmark
+    public List<Errors> validateAll() {
+        List<Errors> errors = newErrors();
+        eventValidator.validateAll(eventDtos, errors);
+        return errors;
+    }
+
+    private List<Errors> newErrors() {
+        List<Errors> errors = new ArrayList<>(eventDtos.size());
+        for (EventDto eventDto : eventDtos) {
+            errors.add(new BeanPropertyBindingResult(eventDto, "eventDto"));
+        }
+        return errors;
+    }
+
+    private static int legacyViolations(EventDto eventDto) {
+        int violations = 0;
+        if (eventDto.getBasePrice() > eventDto.getMaxPrice() && eventDto.getMaxPrice() > 0) {
+            violations |= EventRule.BASE_PRICE.bit() | EventRule.MAX_PRICE.bit() | EventRule.PRICES.bit();
+        }
+        LocalDateTime endEventDateTime = eventDto.getEndEventDateTime();
+        if (endEventDateTime.isBefore(eventDto.getBeginEventDateTime()) ||
+                endEventDateTime.isBefore(eventDto.getCloseEnrollmentDateTime()) ||
+                endEventDateTime.isBefore(eventDto.getBeginEnrollmentDateTime())) {
+            violations |= EventRule.END_EVENT_DATE_TIME.bit();
+        }
+        LocalDateTime beginEventDateTime = eventDto.getBeginEventDateTime();
+        if (beginEventDateTime.isAfter(eventDto.getEndEventDateTime()) ||
+                beginEventDateTime.isBefore(eventDto.getCloseEnrollmentDateTime()) ||
+                beginEventDateTime.isBefore(eventDto.getBeginEnrollmentDateTime())) {
+            violations |= EventRule.BEGIN_EVENT_DATE_TIME.bit();
+        }
+        LocalDateTime closeEnrollmentDateTime = eventDto.getCloseEnrollmentDateTime();
+        if (closeEnrollmentDateTime.isBefore(eventDto.getBeginEnrollmentDateTime()) ||
+                closeEnrollmentDateTime.isAfter(eventDto.getBeginEventDateTime()) ||
+                closeEnrollmentDateTime.isAfter(eventDto.getEndEventDateTime())) {
+            violations |= EventRule.CLOSE_ENROLLMENT_DATE_TIME.bit();
+        }
+        return violations;
+    }
+}
@@ -1,14 +1,19 @@
 package me.jaehong.restapi.accounts;
 
 import lombok.*;
+import me.jaehong.restapi.configs.CacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
+import java.io.Serializable;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.ACCOUNTS)
 @Getter @Setter @EqualsAndHashCode(of = "id")
 @Builder @NoArgsConstructor @AllArgsConstructor
-public class Account {
+public class Account implements Serializable {
 
     @Id @GeneratedValue
     private Integer id;
@@ -18,7 +23,8 @@ public class Account {
 
     private String password;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.ACCOUNT_ROLES)
     @Enumerated(EnumType.STRING)
     private Set<AccountRole> roles;
 }
@@ -4,17 +4,22 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.Collection;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 public class AccountAdapter extends User {
 
-    private Account account;
+    // 토큰 저장소에 직렬화된 인증 정보를 계속 읽을 수 있도록 이전 버전의 값으로 고정한다
+    private static final long serialVersionUID = 4374878750608821736L;
+
+    private AccountPrincipal principal;
 
     public AccountAdapter(Account account) {
         super(account.getEmail(), account.getPassword(), authorities(account.getRoles()));
-        this.account = account;
+        this.principal = AccountPrincipal.of(account);
     }
 
     private static Collection<? extends GrantedAuthority> authorities(Set<AccountRole> roles) {
@@ -23,7 +28,17 @@ public class AccountAdapter extends User {
                 .collect(Collectors.toSet());
     }
 
-    public Account getAccount() {
-        return account;
+    public AccountPrincipal getPrincipal() {
+        return principal;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        this.principal = (AccountPrincipal) fields.get("principal", null);
+        if (this.principal == null) {
+            // 이전 버전은 Account 엔티티를 통째로 담았다
+            Account account = (Account) fields.get("account", null);
+            this.principal = account == null ? null : AccountPrincipal.of(account);
+        }
     }
 }
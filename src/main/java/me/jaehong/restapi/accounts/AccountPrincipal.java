@@ -0,0 +1,85 @@
+package me.jaehong.restapi.accounts;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * {@link CurrentUser} 로 받는 로그인한 계정. 토큰을 만들 때 한 번 만들어 인증 정보에 담아 두므로 요청마다 엔티티를 읽지 않는다.
+ * 권한은 {@link AccountRole} 순서의 비트로 갖는다.
+ */
+public final class AccountPrincipal implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int id;
+
+    private final String email;
+
+    private final int roles;
+
+    public AccountPrincipal(int id, String email, Collection<AccountRole> roles) {
+        this.id = id;
+        this.email = email;
+        this.roles = bits(roles);
+    }
+
+    public static AccountPrincipal of(Account account) {
+        return new AccountPrincipal(account.getId(), account.getEmail(), account.getRoles());
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public boolean hasRole(AccountRole role) {
+        return (roles & (1 << role.ordinal())) != 0;
+    }
+
+    public Set<AccountRole> getRoles() {
+        Set<AccountRole> set = EnumSet.noneOf(AccountRole.class);
+        for (AccountRole role : AccountRole.values()) {
+            if (hasRole(role)) {
+                set.add(role);
+            }
+        }
+        return set;
+    }
+
+    /**
+     * 같은 계정인지 id 만 비교한다. 지연 로딩 프록시여도 초기화하지 않는다.
+     */
+    public boolean is(Account account) {
+        return account != null && account.getId() != null && account.getId() == id;
+    }
+
+    private static int bits(Collection<AccountRole> roles) {
+        int bits = 0;
+        if (roles != null) {
+            for (AccountRole role : roles) {
+                bits |= 1 << role.ordinal();
+            }
+        }
+        return bits;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AccountPrincipal && ((AccountPrincipal) o).id == id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return "AccountPrincipal(id=" + id + ", email=" + email + ", roles=" + getRoles() + ")";
+    }
+}
@@ -1,9 +1,19 @@
 package me.jaehong.restapi.accounts;
 
+import me.jaehong.restapi.configs.CacheConfig;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Integer> {
+
+    @EntityGraph(attributePaths = "roles")
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = CacheConfig.ACCOUNTS_BY_EMAIL)
+    })
     Optional<Account> findByEmail(String username);
 }
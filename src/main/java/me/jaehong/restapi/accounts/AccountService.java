@@ -9,6 +9,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.Set;
@@ -28,7 +29,17 @@ public class AccountService implements UserDetailsService {
         return this.accountRepository.save(account);
     }
 
+    /**
+     * 같은 이메일의 계정이 없을 때만 저장한다. 읽기 전용 트랜잭션이 아니므로 복제본이 있어도 주 데이터베이스에서 확인한다.
+     */
+    @Transactional
+    public Account saveAccountIfAbsent(Account account) {
+        return this.accountRepository.findByEmail(account.getEmail())
+                .orElseGet(() -> saveAccount(account));
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         Account account = accountRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException(username));
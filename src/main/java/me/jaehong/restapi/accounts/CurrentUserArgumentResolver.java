@@ -0,0 +1,32 @@
+package me.jaehong.restapi.accounts;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * {@link CurrentUser} 파라미터에 인증 정보에 담아 둔 {@link AccountPrincipal} 을 넘긴다. 로그인하지 않았으면 null 이다.
+ * 데이터베이스나 SpEL 을 거치지 않는다.
+ */
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && parameter.getParameterType() == AccountPrincipal.class;
+    }
+
+    @Override
+    public AccountPrincipal resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AccountAdapter)) {
+            return null;
+        }
+        return ((AccountAdapter) authentication.getPrincipal()).getPrincipal();
+    }
+}
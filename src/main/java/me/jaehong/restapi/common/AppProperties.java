@@ -6,6 +6,9 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import javax.validation.constraints.NotEmpty;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 @ConfigurationProperties(prefix = "my-app")
@@ -29,4 +32,67 @@ public class AppProperties {
 
     @NotEmpty
     private String clientSecret;
+
+    private long cacheMaximumSize = 10_000;
+
+    private Duration cacheTimeToLive = Duration.ofMinutes(10);
+
+    private Duration tokenCacheTimeToLive = Duration.ofMinutes(1);
+
+    private Duration tokenPurgeInterval = Duration.ofMinutes(10);
+
+    private Duration passwordCacheTimeToLive = Duration.ofMinutes(5);
+
+    private int passwordHashingThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    private int passwordHashingQueueCapacity = 100;
+
+    private int sqlLogSampleRate = 0;
+
+    private int eventBatchMaxSize = 1000;
+
+    private Duration eventExportTimeout = Duration.ofMinutes(5);
+
+    private int eventExportConcurrency = 2;
+
+    private QueryMode eventQueryMode = QueryMode.BLOCKING;
+
+    private int eventQueryThreads = 10;
+
+    private int eventQueryQueueCapacity = 2000;
+
+    private Duration eventLifecycleInterval = Duration.ofMinutes(1);
+
+    private Duration eventLifecycleLease = Duration.ofMinutes(5);
+
+    private int eventLifecycleBatchSize = 1000;
+
+    private int enrollmentStripes = 8;
+
+    private SeedAccounts seedAccounts = SeedAccounts.SYNC;
+
+    private List<String> replicaUrls = new ArrayList<>();
+
+    private Duration replicaMaxLag = Duration.ofSeconds(5);
+
+    private Duration replicaCheckInterval = Duration.ofSeconds(5);
+
+    private String replicaLagQuery = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 " +
+            "else extract(epoch from now() - pg_last_xact_replay_timestamp()) end";
+
+    public enum QueryMode {
+        /** 톰캣 스레드에서 조회한다 */
+        BLOCKING,
+        /** 전용 풀에서 조회하고 톰캣 스레드는 돌려준다 */
+        ASYNC
+    }
+
+    public enum SeedAccounts {
+        /** 기동 중에 만든다 */
+        SYNC,
+        /** 기동을 기다리게 하지 않고 태스크 실행기에서 만든다 */
+        ASYNC,
+        /** 만들지 않는다. 계정이 이미 있는 환경에서 쓴다 */
+        SKIP
+    }
 }
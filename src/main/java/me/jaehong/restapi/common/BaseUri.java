@@ -0,0 +1,26 @@
+package me.jaehong.restapi.common;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * 현재 요청의 scheme/host/port/context path. 요청마다 한 번만 계산해서 요청 속성에 담아둔다.
+ */
+public final class BaseUri {
+
+    private static final String ATTRIBUTE = BaseUri.class.getName();
+
+    private BaseUri() {
+    }
+
+    public static String current() {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        String baseUri = (String) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+            attributes.setAttribute(ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+        return baseUri;
+    }
+}
@@ -0,0 +1,23 @@
+package me.jaehong.restapi.common;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Resources;
+
+/**
+ * 커서 기반 페이지 응답. 전체 개수는 클라이언트가 요청한 경우에만 담는다.
+ */
+public class CursorPagedResources<T> extends Resources<T> {
+
+    private Long totalElements;
+
+    public CursorPagedResources(Iterable<T> content, Long totalElements, Link... links) {
+        super(content, links);
+        this.totalElements = totalElements;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Long getTotalElements() {
+        return totalElements;
+    }
+}
@@ -0,0 +1,43 @@
+package me.jaehong.restapi.common;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 핸들러 메서드 하나에 대한 요청 단위 미터. 핸들러마다 한 번만 만들어 재사용한다.
+ */
+class RequestMeters {
+
+    private final DistributionSummary statements;
+
+    private final Timer db;
+
+    private final Timer serialization;
+
+    RequestMeters(MeterRegistry registry, String handler) {
+        this.statements = DistributionSummary.builder("http.server.requests.statements")
+                .description("SQL statements executed per request")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(registry);
+        this.db = Timer.builder("http.server.requests.db")
+                .description("Time spent executing SQL per request")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(registry);
+        this.serialization = Timer.builder("http.server.requests.serialization")
+                .description("Time spent writing the response body per request")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    void record(RequestMetrics metrics) {
+        statements.record(metrics.getStatements());
+        db.record(metrics.getDbNanos(), TimeUnit.NANOSECONDS);
+        serialization.record(metrics.getSerializationNanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,65 @@
+package me.jaehong.restapi.common;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * 요청 하나 동안 실행한 SQL 의 개수와 시간, 응답 직렬화 시간을 모은다.
+ * 요청 속성에 하나만 두고 요청 스레드에서만 쓰므로 동기화하지 않는다.
+ */
+public class RequestMetrics {
+
+    private static final String ATTRIBUTE = RequestMetrics.class.getName();
+
+    private long statements;
+
+    private long dbNanos;
+
+    private long serializationStart;
+
+    private long serializationNanos;
+
+    /**
+     * @return 현재 요청의 {@link RequestMetrics}, 요청 스레드가 아니면 {@code null}
+     */
+    public static RequestMetrics current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+
+        RequestMetrics metrics = (RequestMetrics) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (metrics == null) {
+            metrics = new RequestMetrics();
+            attributes.setAttribute(ATTRIBUTE, metrics, RequestAttributes.SCOPE_REQUEST);
+        }
+        return metrics;
+    }
+
+    public void statementExecuted(long nanos) {
+        statements++;
+        dbNanos += nanos;
+    }
+
+    public void serializationStarted() {
+        serializationStart = System.nanoTime();
+    }
+
+    public void serializationEnded() {
+        if (serializationStart != 0) {
+            serializationNanos = System.nanoTime() - serializationStart;
+        }
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    public long getSerializationNanos() {
+        return serializationNanos;
+    }
+}
@@ -0,0 +1,53 @@
+package me.jaehong.restapi.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 요청이 끝나면 {@link RequestMetrics} 에 모인 값을 핸들러 메서드별 미터에 기록한다.
+ * 응답 본문은 핸들러 호출 안에서 쓰이므로 postHandle 시점이 곧 직렬화가 끝난 시점이다.
+ */
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry registry;
+
+    private final Map<Method, RequestMeters> meters = new ConcurrentHashMap<>();
+
+    public RequestMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.serializationEnded();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null && handler instanceof HandlerMethod) {
+            metersFor((HandlerMethod) handler).record(metrics);
+        }
+    }
+
+    private RequestMeters metersFor(HandlerMethod handlerMethod) {
+        Method method = handlerMethod.getMethod();
+        RequestMeters requestMeters = meters.get(method);
+        if (requestMeters == null) {
+            requestMeters = meters.computeIfAbsent(method, m ->
+                    new RequestMeters(registry, m.getDeclaringClass().getSimpleName() + "." + m.getName()));
+        }
+        return requestMeters;
+    }
+}
@@ -0,0 +1,37 @@
+package me.jaehong.restapi.common;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * 세션마다 Hibernate 가 만드는 리스너. 세션을 연 요청의 {@link RequestMetrics} 에 SQL 실행 시간을 더한다.
+ */
+public class RequestSessionEventListener extends BaseSessionEventListener {
+
+    private final transient RequestMetrics metrics = RequestMetrics.current();
+
+    private long start;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        if (metrics != null) {
+            metrics.statementExecuted(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        if (metrics != null) {
+            metrics.statementExecuted(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package me.jaehong.restapi.common;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실행되는 SQL 중 N 개에 하나만 남긴다. 바인딩 값은 남기지 않는다.
+ */
+public class SampledSqlLogger implements StatementInspector {
+
+    private static final Logger log = LoggerFactory.getLogger("me.jaehong.restapi.sql");
+
+    private final int sampleRate;
+
+    private final AtomicLong statements = new AtomicLong();
+
+    public SampledSqlLogger(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (statements.incrementAndGet() % sampleRate == 0) {
+            log.info("Sampled 1/{} SQL: {}", sampleRate, sql);
+        }
+        return sql;
+    }
+}
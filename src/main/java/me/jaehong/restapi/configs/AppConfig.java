@@ -1,31 +1,78 @@
 package me.jaehong.restapi.configs;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import me.jaehong.restapi.accounts.Account;
 import me.jaehong.restapi.accounts.AccountRole;
 import me.jaehong.restapi.accounts.AccountService;
 import me.jaehong.restapi.common.AppProperties;
+import me.jaehong.restapi.events.EventQueryExecutor;
+import me.jaehong.restapi.events.EventRepresentationCache;
 import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class AppConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(AppConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(prefix = "my-app", name = "lazy-initialization", havingValue = "true")
+    public static LazyInitializationBeanFactoryPostProcessor lazyInitializationBeanFactoryPostProcessor() {
+        return new LazyInitializationBeanFactoryPostProcessor();
+    }
+
     @Bean
     public ModelMapper modelMapper() {
         return new ModelMapper();
     }
 
+    // 해시 전용 풀은 빈으로 노출하지 않는다. Executor 빈이 생기면 스프링 부트가 기본 태스크 실행기를 만들지 않는다
+    @Bean(destroyMethod = "shutdown")
+    public CachingPasswordEncoder passwordEncoder(AppProperties appProperties) {
+        int threads = appProperties.getPasswordHashingThreads();
+        ExecutorService hashingExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(appProperties.getPasswordHashingQueueCapacity()),
+                new CustomizableThreadFactory("password-hashing-"));
+        return new CachingPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder(), hashingExecutor,
+                appProperties.getCacheMaximumSize(), appProperties.getPasswordCacheTimeToLive());
+    }
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public MeterBinder passwordEncoderMetrics(CachingPasswordEncoder passwordEncoder) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, passwordEncoder.getVerified(), "passwords.verified");
+            ExecutorServiceMetrics.monitor(registry, passwordEncoder.getHashingExecutor(), "passwordHashing");
+        };
+    }
+
+    @Bean
+    public MeterBinder eventQueryMetrics(EventQueryExecutor eventQueryExecutor) {
+        return eventQueryExecutor::bindMetrics;
+    }
+
+    @Bean
+    public MeterBinder eventRepresentationMetrics(EventRepresentationCache eventRepresentationCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, eventRepresentationCache.getRepresentations(), "events.representations");
     }
 
     @Bean
@@ -38,21 +85,44 @@ public class AppConfig {
             @Autowired
             AppProperties appProperties;
 
+            @Autowired
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+            TaskExecutor taskExecutor;
+
             @Override
             public void run(ApplicationArguments args) throws Exception {
+                switch (appProperties.getSeedAccounts()) {
+                    case SKIP:
+                        return;
+                    case ASYNC:
+                        taskExecutor.execute(() -> {
+                            try {
+                                saveSeedAccounts();
+                            } catch (RuntimeException e) {
+                                log.error("Failed to save seed accounts", e);
+                            }
+                        });
+                        return;
+                    default:
+                        saveSeedAccounts();
+                }
+            }
+
+            private void saveSeedAccounts() {
+                // 스키마가 재시작 사이에 유지되므로 이미 만든 계정은 다시 만들지 않는다
                 Account admin = Account.builder()
                         .email(appProperties.getAdminUsername())
                         .password(appProperties.getAdminPassword())
                         .roles(Set.of(AccountRole.ADMIN, AccountRole.USER))
                         .build();
-                accountService.saveAccount(admin);
+                accountService.saveAccountIfAbsent(admin);
 
                 Account user = Account.builder()
                         .email(appProperties.getUserUsername())
                         .password(appProperties.getUserPassword())
                         .roles(Set.of(AccountRole.USER))
                         .build();
-                accountService.saveAccount(user);
+                accountService.saveAccountIfAbsent(user);
             }
         };
     }
@@ -0,0 +1,65 @@
+package me.jaehong.restapi.configs;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import me.jaehong.restapi.common.AppProperties;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+public class CacheConfig {
+
+    public static final String EVENTS = "events";
+    public static final String ACCOUNTS = "accounts";
+    public static final String ACCOUNT_ROLES = "accounts.roles";
+    public static final String ACCOUNTS_BY_EMAIL = "accounts.byEmail";
+
+    private static final String QUERY_RESULTS = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    private static final List<String> BOUNDED_CACHES = List.of(EVENTS, ACCOUNTS, ACCOUNT_ROLES, ACCOUNTS_BY_EMAIL, QUERY_RESULTS);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager jCacheManager(AppProperties appProperties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // 테스트처럼 한 JVM 에 컨텍스트가 여러 개 떠도 캐시를 공유하지 않도록 매니저마다 URI 를 따로 둔다
+        CacheManager cacheManager = provider.getCacheManager(URI.create("restapi-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        BOUNDED_CACHES.forEach(name -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(appProperties.getCacheMaximumSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(appProperties.getCacheTimeToLive().toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(name, configuration);
+        });
+
+        // 타임스탬프가 먼저 사라지면 쿼리 캐시가 오래된 결과를 돌려줄 수 있으므로 제한을 두지 않는다
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(UPDATE_TIMESTAMPS, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager jCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, jCacheManager);
+    }
+
+    @Bean
+    public MeterBinder jCacheMetrics(CacheManager jCacheManager) {
+        return registry -> jCacheManager.getCacheNames().forEach(name ->
+                JCacheMetrics.monitor(registry, jCacheManager.getCache(name)));
+    }
+}
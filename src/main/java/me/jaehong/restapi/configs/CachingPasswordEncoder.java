@@ -0,0 +1,120 @@
+package me.jaehong.restapi.configs;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 한 번 검증에 성공한 자격 증명을 잠시 기억해 같은 비밀번호로 들어오는 요청마다 bcrypt 를 다시 돌리지 않는 {@link PasswordEncoder}.
+ * 캐시 키는 프로세스마다 새로 만든 키로 계산한 HMAC 이라 평문은 물론 오프라인에서 대입해볼 수 있는 값도 남지 않는다.
+ * 해시 계산은 전용 스레드 풀에서만 돌려 토큰 발급이 몰려도 API 요청이 CPU 를 빼앗기지 않게 한다.
+ */
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final PasswordEncoder delegate;
+
+    private final ExecutorService hashingExecutor;
+
+    private final Cache<String, Boolean> verified;
+
+    private final SecretKey key;
+
+    public CachingPasswordEncoder(PasswordEncoder delegate, ExecutorService hashingExecutor, long maximumSize, Duration timeToLive) {
+        this.delegate = delegate;
+        this.hashingExecutor = hashingExecutor;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        try {
+            this.key = KeyGenerator.getInstance(HMAC_ALGORITHM).generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Cache<String, Boolean> getVerified() {
+        return verified;
+    }
+
+    public ExecutorService getHashingExecutor() {
+        return hashingExecutor;
+    }
+
+    public void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+
+        // 저장된 해시도 키에 넣어 비밀번호가 바뀌면 이전 항목은 자연스럽게 쓰이지 않게 한다
+        String fingerprint = fingerprint(rawPassword, encodedPassword);
+        if (verified.getIfPresent(fingerprint) != null) {
+            return true;
+        }
+
+        boolean matches = hash(() -> delegate.matches(rawPassword, encodedPassword));
+        if (matches) {
+            verified.put(fingerprint, Boolean.TRUE);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private String fingerprint(CharSequence rawPassword, String encodedPassword) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private <T> T hash(Callable<T> task) {
+        try {
+            return hashingExecutor.submit(task).get();
+        } catch (RejectedExecutionException e) {
+            throw new AuthenticationServiceException("Too many concurrent password checks", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Interrupted while checking password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
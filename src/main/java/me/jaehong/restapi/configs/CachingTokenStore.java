@@ -0,0 +1,139 @@
+package me.jaehong.restapi.configs;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2RefreshToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * 요청마다 일어나는 토큰 조회를 프로세스 안의 캐시로 받아주는 {@link TokenStore}.
+ * 다른 인스턴스에서 폐기된 토큰은 캐시 유효 시간이 지나야 반영되므로 유효 시간은 짧게 둔다.
+ */
+public class CachingTokenStore implements TokenStore {
+
+    private final TokenStore delegate;
+
+    private final Cache<String, OAuth2AccessToken> accessTokens;
+
+    private final Cache<String, OAuth2Authentication> authentications;
+
+    private final Cache<String, String> accessTokenByRefreshToken;
+
+    private final Timer reads;
+
+    public CachingTokenStore(TokenStore delegate, long maximumSize, Duration timeToLive, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.reads = Timer.builder("oauth.token.store.reads")
+                .description("Token lookups that missed the cache and went to the backing store")
+                .register(registry);
+        this.accessTokens = newCache(maximumSize, timeToLive);
+        this.authentications = newCache(maximumSize, timeToLive);
+        this.accessTokenByRefreshToken = newCache(maximumSize, timeToLive);
+    }
+
+    private static <V> Cache<String, V> newCache(long maximumSize, Duration timeToLive) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    public Cache<String, OAuth2AccessToken> getAccessTokens() {
+        return accessTokens;
+    }
+
+    public Cache<String, OAuth2Authentication> getAuthentications() {
+        return authentications;
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String tokenValue) {
+        return accessTokens.get(tokenValue, value -> {
+            OAuth2AccessToken token = reads.record(() -> delegate.readAccessToken(value));
+            if (token != null && token.getRefreshToken() != null) {
+                accessTokenByRefreshToken.put(token.getRefreshToken().getValue(), value);
+            }
+            return token;
+        });
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(OAuth2AccessToken token) {
+        return readAuthentication(token.getValue());
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(String token) {
+        return authentications.get(token, value -> reads.record(() -> delegate.readAuthentication(value)));
+    }
+
+    @Override
+    public void storeAccessToken(OAuth2AccessToken token, OAuth2Authentication authentication) {
+        delegate.storeAccessToken(token, authentication);
+        evict(token.getValue());
+    }
+
+    @Override
+    public void removeAccessToken(OAuth2AccessToken token) {
+        delegate.removeAccessToken(token);
+        evict(token.getValue());
+    }
+
+    @Override
+    public void removeAccessTokenUsingRefreshToken(OAuth2RefreshToken refreshToken) {
+        delegate.removeAccessTokenUsingRefreshToken(refreshToken);
+        String accessToken = accessTokenByRefreshToken.getIfPresent(refreshToken.getValue());
+        if (accessToken != null) {
+            evict(accessToken);
+        }
+        accessTokenByRefreshToken.invalidate(refreshToken.getValue());
+    }
+
+    private void evict(String tokenValue) {
+        accessTokens.invalidate(tokenValue);
+        authentications.invalidate(tokenValue);
+    }
+
+    @Override
+    public void storeRefreshToken(OAuth2RefreshToken refreshToken, OAuth2Authentication authentication) {
+        delegate.storeRefreshToken(refreshToken, authentication);
+    }
+
+    @Override
+    public OAuth2RefreshToken readRefreshToken(String tokenValue) {
+        return delegate.readRefreshToken(tokenValue);
+    }
+
+    @Override
+    public OAuth2Authentication readAuthenticationForRefreshToken(OAuth2RefreshToken token) {
+        return delegate.readAuthenticationForRefreshToken(token);
+    }
+
+    @Override
+    public void removeRefreshToken(OAuth2RefreshToken token) {
+        delegate.removeRefreshToken(token);
+    }
+
+    @Override
+    public OAuth2AccessToken getAccessToken(OAuth2Authentication authentication) {
+        return delegate.getAccessToken(authentication);
+    }
+
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientIdAndUserName(String clientId, String userName) {
+        return delegate.findTokensByClientIdAndUserName(clientId, userName);
+    }
+
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientId(String clientId) {
+        return delegate.findTokensByClientId(clientId);
+    }
+}
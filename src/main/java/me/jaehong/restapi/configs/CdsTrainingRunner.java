@@ -0,0 +1,37 @@
+package me.jaehong.restapi.configs;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * AppCDS 아카이브를 만드는 빌드의 학습 실행용. 기동한 뒤 GET /api 를 한 번 보내 첫 요청에서 읽는 클래스까지 싣고 종료한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "my-app", name = "cds-training", havingValue = "true")
+public class CdsTrainingRunner implements ApplicationRunner {
+
+    private final ServletWebServerApplicationContext context;
+
+    public CdsTrainingRunner(ServletWebServerApplicationContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        URL index = new URL("http://localhost:" + this.context.getWebServer().getPort() + "/api");
+        HttpURLConnection connection = (HttpURLConnection) index.openConnection();
+        int status = connection.getResponseCode();
+        connection.disconnect();
+        if (status != 200) {
+            throw new IllegalStateException("GET /api returned " + status);
+        }
+        System.exit(SpringApplication.exit(this.context));
+    }
+}
@@ -0,0 +1,111 @@
+package me.jaehong.restapi.configs;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.common.ExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2RefreshToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.AuthenticationKeyGenerator;
+import org.springframework.security.oauth2.provider.token.DefaultAuthenticationKeyGenerator;
+import org.springframework.security.oauth2.provider.token.store.JdbcTokenStore;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 토큰 만료 시각을 별도 컬럼에 기록하는 {@link JdbcTokenStore}.
+ * 직렬화된 토큰을 읽지 않고도 만료된 토큰을 한 번의 DELETE 로 지울 수 있다.
+ * <p>
+ * 같은 사용자가 동시에 토큰을 발급 받으면 기본 구현의 "지우고 다시 넣기" 가 서로 엇갈려
+ * 키 중복이나 NPE 가 나므로, 저장은 UPDATE 후 없으면 INSERT 로 하고 조회는 여러 행을 허용한다.
+ */
+public class ExpiringJdbcTokenStore extends JdbcTokenStore {
+
+    private static final String INSERT_ACCESS_TOKEN_SQL = "insert into oauth_access_token " +
+            "(token, authentication_id, user_name, client_id, authentication, refresh_token, expiration, token_id) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_ACCESS_TOKEN_SQL = "update oauth_access_token " +
+            "set token = ?, authentication_id = ?, user_name = ?, client_id = ?, authentication = ?, refresh_token = ?, expiration = ? " +
+            "where token_id = ?";
+
+    private static final String SELECT_ACCESS_TOKENS_FROM_AUTHENTICATION_SQL = "select token from oauth_access_token " +
+            "where authentication_id = ? order by expiration desc";
+
+    private static final String INSERT_REFRESH_TOKEN_SQL = "insert into oauth_refresh_token " +
+            "(token_id, token, authentication, expiration) values (?, ?, ?, ?)";
+
+    private static final String DELETE_EXPIRED_ACCESS_TOKENS_SQL = "delete from oauth_access_token where expiration < ?";
+
+    private static final String DELETE_EXPIRED_REFRESH_TOKENS_SQL = "delete from oauth_refresh_token where expiration < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AuthenticationKeyGenerator authenticationKeyGenerator = new DefaultAuthenticationKeyGenerator();
+
+    public ExpiringJdbcTokenStore(DataSource dataSource) {
+        super(dataSource);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        setAuthenticationKeyGenerator(authenticationKeyGenerator);
+    }
+
+    @Override
+    public void storeAccessToken(OAuth2AccessToken token, OAuth2Authentication authentication) {
+        Object[] args = {
+                serializeAccessToken(token),
+                authenticationKeyGenerator.extractKey(authentication),
+                authentication.isClientOnly() ? null : authentication.getName(),
+                authentication.getOAuth2Request().getClientId(),
+                serializeAuthentication(authentication),
+                token.getRefreshToken() == null ? null : extractTokenKey(token.getRefreshToken().getValue()),
+                timestamp(token.getExpiration()),
+                extractTokenKey(token.getValue())
+        };
+
+        if (jdbcTemplate.update(UPDATE_ACCESS_TOKEN_SQL, args) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT_ACCESS_TOKEN_SQL, args);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(UPDATE_ACCESS_TOKEN_SQL, args);
+        }
+    }
+
+    @Override
+    public OAuth2AccessToken getAccessToken(OAuth2Authentication authentication) {
+        List<OAuth2AccessToken> tokens = jdbcTemplate.query(SELECT_ACCESS_TOKENS_FROM_AUTHENTICATION_SQL,
+                (rs, rowNum) -> deserializeAccessToken(rs.getBytes(1)),
+                authenticationKeyGenerator.extractKey(authentication));
+        return tokens.isEmpty() ? null : tokens.get(0);
+    }
+
+    @Override
+    public void storeRefreshToken(OAuth2RefreshToken refreshToken, OAuth2Authentication authentication) {
+        Date expiration = refreshToken instanceof ExpiringOAuth2RefreshToken
+                ? ((ExpiringOAuth2RefreshToken) refreshToken).getExpiration()
+                : null;
+        jdbcTemplate.update(INSERT_REFRESH_TOKEN_SQL, extractTokenKey(refreshToken.getValue()),
+                serializeRefreshToken(refreshToken), serializeAuthentication(authentication), timestamp(expiration));
+    }
+
+    /**
+     * 인스턴스마다 돌아도 같은 DELETE 를 반복할 뿐이라 별도의 락은 두지 않는다.
+     *
+     * @return 삭제한 액세스 토큰과 리프레시 토큰의 개수
+     */
+    @Scheduled(fixedDelayString = "#{@appProperties.tokenPurgeInterval.toMillis()}")
+    public int purgeExpiredTokens() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        return jdbcTemplate.update(DELETE_EXPIRED_ACCESS_TOKENS_SQL, now)
+                + jdbcTemplate.update(DELETE_EXPIRED_REFRESH_TOKENS_SQL, now);
+    }
+
+    private static Timestamp timestamp(Date date) {
+        return date == null ? null : new Timestamp(date.getTime());
+    }
+}
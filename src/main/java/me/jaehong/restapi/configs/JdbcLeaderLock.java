@@ -0,0 +1,58 @@
+package me.jaehong.restapi.configs;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 여러 인스턴스 중 하나만 주기 작업을 돌리도록 {@code scheduler_lock} 행을 임대한다.
+ * 임대를 가진 인스턴스는 돌 때마다 연장하고, 그 인스턴스가 죽으면 임대가 끝난 뒤 다른 인스턴스가 가져간다.
+ * 만료 판단은 각 인스턴스의 시계로 하므로 임대 기간은 인스턴스 사이의 시계 오차보다 충분히 길게 잡는다.
+ * 컨테이너마다 pid@host 가 같을 수 있으므로 인스턴스 id 에는 기동할 때 만든 UUID 를 붙인다.
+ */
+@Component
+public class JdbcLeaderLock {
+
+    private static final String UPDATE_LOCK_SQL = "update scheduler_lock set locked_until = ?, locked_by = ? " +
+            "where name = ? and (locked_until <= ? or locked_by = ?)";
+
+    private static final String INSERT_LOCK_SQL = "insert into scheduler_lock (name, locked_until, locked_by) values (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String instanceId;
+
+    @Autowired
+    public JdbcLeaderLock(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID());
+    }
+
+    JdbcLeaderLock(JdbcTemplate jdbcTemplate, String instanceId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.instanceId = instanceId;
+    }
+
+    /**
+     * @return 이 인스턴스가 {@code lease} 동안 {@code name} 작업의 리더이면 true
+     */
+    public boolean tryAcquire(String name, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp lockedUntil = Timestamp.valueOf(now.plus(lease));
+        if (jdbcTemplate.update(UPDATE_LOCK_SQL, lockedUntil, instanceId, name, Timestamp.valueOf(now), instanceId) > 0) {
+            return true;
+        }
+        try {
+            return jdbcTemplate.update(INSERT_LOCK_SQL, name, lockedUntil, instanceId) > 0;
+        } catch (DuplicateKeyException e) {
+            // 다른 인스턴스가 임대 중이다
+            return false;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package me.jaehong.restapi.configs;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 애플리케이션 빈을 처음 쓰일 때 만들도록 지연 초기화로 바꾼다. 스프링 부트 2.2 의 {@code spring.main.lazy-initialization} 과 같다.
+ * 컨테이너가 쓰는 인프라 빈, 모든 싱글톤을 만든 뒤의 콜백에 기대는 {@link SmartInitializingSingleton},
+ * 아무도 주입받지 않아도 돌아야 하는 {@link Scheduled} 메서드가 있는 빈은 그대로 둔다.
+ * 타입은 빈 정의에 적힌 이름으로만 판단한다. 이 시점에 타입을 물으면 팩토리 빈이 미리 만들어질 수 있다.
+ */
+public class LazyInitializationBeanFactoryPostProcessor implements BeanFactoryPostProcessor {
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE
+                    || mustInitializeEagerly(definition, beanFactory.getBeanClassLoader())) {
+                continue;
+            }
+            definition.setLazyInit(true);
+        }
+    }
+
+    private boolean mustInitializeEagerly(BeanDefinition definition, ClassLoader classLoader) {
+        String typeName = definition.getBeanClassName();
+        if (definition instanceof AnnotatedBeanDefinition) {
+            MethodMetadata factoryMethod = ((AnnotatedBeanDefinition) definition).getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                typeName = factoryMethod.getReturnTypeName();
+            }
+        }
+        if (typeName == null || !ClassUtils.isPresent(typeName, classLoader)) {
+            return false;
+        }
+        Class<?> type = ClassUtils.resolveClassName(typeName, classLoader);
+        return SmartInitializingSingleton.class.isAssignableFrom(type)
+                || !MethodIntrospector.selectMethods(type, (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                        AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+}
@@ -0,0 +1,24 @@
+package me.jaehong.restapi.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import me.jaehong.restapi.common.RequestMetricsInterceptor;
+import me.jaehong.restapi.events.EventController;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricsConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry))
+                .addPathPatterns(EventController.PATH, EventController.PATH + "/**");
+    }
+}
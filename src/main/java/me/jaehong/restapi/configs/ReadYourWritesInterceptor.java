@@ -0,0 +1,67 @@
+package me.jaehong.restapi.configs;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import me.jaehong.restapi.accounts.AccountAdapter;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 쓰기 요청에 성공한 계정은 복제 지연 허용치 동안 읽기도 주 데이터베이스에서 하게 해서, 방금 바꾼 내용을 바로 다시 읽을 수 있게 한다.
+ * 기록은 인스턴스마다 따로 가진다.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Set<String> READ_METHODS = Set.of(HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+
+    private final Cache<Integer, Boolean> recentWriters;
+
+    public ReadYourWritesInterceptor(Duration window, long maximumSize) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Integer accountId = currentAccountId();
+        if (accountId != null && this.recentWriters.getIfPresent(accountId) != null) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+        return true;
+    }
+
+    /**
+     * 비동기로 넘어간 요청은 톰캣 스레드에서 afterCompletion 이 불리지 않으므로 여기서 고정을 푼다.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingDataSource.unpin();
+
+        Integer accountId = currentAccountId();
+        if (accountId != null && !READ_METHODS.contains(request.getMethod()) && ex == null && response.getStatus() < 400) {
+            this.recentWriters.put(accountId, Boolean.TRUE);
+        }
+    }
+
+    private Integer currentAccountId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AccountAdapter)) {
+            return null;
+        }
+        return ((AccountAdapter) authentication.getPrincipal()).getPrincipal().getId();
+    }
+}
@@ -0,0 +1,86 @@
+package me.jaehong.restapi.configs;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import me.jaehong.restapi.common.AppProperties;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code my-app.replica-urls} 가 있으면 읽기 전용 트랜잭션을 복제본으로 보낸다. 복제본은 주 데이터베이스와 같은 계정과 풀 설정을 쓴다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "my-app", name = "replica-urls")
+public class ReplicaConfig implements WebMvcConfigurer {
+
+    private final AppProperties appProperties;
+
+    public ReplicaConfig(AppProperties appProperties) {
+        this.appProperties = appProperties;
+    }
+
+    /**
+     * 주 데이터베이스 풀도 여기서 만든다. 다른 DataSource 빈이 있으면 부트의 스키마 초기화가 하나뿐인 DataSource 를 찾다가 순환 참조가 생긴다.
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        List<String> urls = this.appProperties.getReplicaUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(urls.get(i));
+            config.setPoolName("replica-" + i);
+            config.setReadOnly(true);
+            // 복제본이 내려가 있어도 애플리케이션은 떠야 하므로 풀을 만들 때 연결을 확인하지 않는다
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new HikariDataSource(config));
+        }
+
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replicas,
+                this.appProperties.getReplicaLagQuery(), this.appProperties.getReplicaMaxLag());
+        dataSource.checkReplicas();
+        return dataSource;
+    }
+
+    @Bean
+    public MeterBinder replicaMetrics(ReplicaRoutingDataSource dataSource) {
+        return dataSource::bindMetrics;
+    }
+
+    /**
+     * 기본값(요청이 끝날 때까지 커넥션 유지)이면 open-in-view 세션이 처음 고른 커넥션을 요청 내내 쓰므로
+     * 트랜잭션마다 커넥션을 돌려주고 다시 고르게 한다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer connectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(this.appProperties.getReplicaMaxLag(),
+                this.appProperties.getCacheMaximumSize()));
+    }
+}
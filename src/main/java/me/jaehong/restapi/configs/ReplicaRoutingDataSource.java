@@ -0,0 +1,160 @@
+package me.jaehong.restapi.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 읽기 전용 트랜잭션은 복제본으로, 나머지는 주 데이터베이스로 보낸다.
+ * 복제 지연이 {@code maxLag} 를 넘었거나 연결할 수 없는 복제본은 다음 점검 때까지 건너뛰고, 쓸 복제본이 없으면 주 데이터베이스를 쓴다.
+ * 트랜잭션의 읽기 전용 여부가 정해진 뒤에 커넥션을 고를 수 있도록 첫 SQL 을 실행할 때 실제 커넥션을 가져온다.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final String lagQuery;
+
+    private final Duration maxLag;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, String lagQuery, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).collect(Collectors.toList());
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        setTargetDataSource(new Router());
+    }
+
+    /**
+     * 현재 스레드의 읽기를 주 데이터베이스로 고정한다. 방금 쓴 사용자가 자기 변경을 바로 읽어야 할 때 쓴다.
+     */
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    private Replica nextHealthyReplica() {
+        int start = Math.floorMod(this.next.getAndIncrement(), this.replicas.size());
+        for (int i = 0; i < this.replicas.size(); i++) {
+            Replica replica = this.replicas.get((start + i) % this.replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 복제본마다 지연 시간(초)을 조회해서 쓸 수 있는지 다시 정한다.
+     */
+    @Scheduled(fixedDelayString = "#{@appProperties.replicaCheckInterval.toMillis()}")
+    public void checkReplicas() {
+        for (Replica replica : this.replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(this.lagQuery)) {
+                resultSet.next();
+                double lagSeconds = resultSet.getDouble(1);
+                boolean healthy = lagSeconds * 1000 <= this.maxLag.toMillis();
+                if (healthy != replica.healthy) {
+                    log.info("Replica {} lag is {}s, {}", replica.dataSource.getPoolName(), lagSeconds,
+                            healthy ? "routing reads to it" : "reading from primary");
+                }
+                replica.healthy = healthy;
+            } catch (SQLException e) {
+                log.warn("Replica {} lag check failed", replica.dataSource.getPoolName(), e);
+                replica.healthy = false;
+            }
+        }
+    }
+
+    /**
+     * 풀마다 hikaricp.* 메트릭을 붙이고, 복제본을 읽기에 쓰고 있는지 db.replica.available 로 내보낸다.
+     */
+    public void bindMetrics(MeterRegistry registry) {
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(registry);
+        this.primary.setMetricsTrackerFactory(metricsTrackerFactory);
+        for (Replica replica : this.replicas) {
+            replica.dataSource.setMetricsTrackerFactory(metricsTrackerFactory);
+            Gauge.builder("db.replica.available", replica, r -> r.healthy ? 1 : 0)
+                    .tag("pool", replica.dataSource.getPoolName())
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.replicas.forEach(replica -> replica.dataSource.close());
+        this.primary.close();
+    }
+
+    private class Router extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PINNED_TO_PRIMARY.get() != null) {
+                return primary.getConnection();
+            }
+
+            Replica replica = nextHealthyReplica();
+            if (replica == null) {
+                return primary.getConnection();
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                log.warn("Replica {} is unavailable, reading from primary until the next check", replica.dataSource.getPoolName(), e);
+                replica.healthy = false;
+                return primary.getConnection();
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return primary.getConnection(username, password);
+        }
+    }
+
+    private static class Replica {
+
+        private final HikariDataSource dataSource;
+
+        private volatile boolean healthy;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
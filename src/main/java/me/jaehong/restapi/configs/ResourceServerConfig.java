@@ -1,5 +1,6 @@
 package me.jaehong.restapi.configs;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -23,6 +24,12 @@ public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
                 .anonymous()
                     .and()
                 .authorizeRequests()
+                    // 관리 포트는 루프백에만 열려 있으므로 로컬 수집기가 인증 없이 가져갈 수 있게 한다
+                    .requestMatchers(EndpointRequest.toAnyEndpoint())
+                        .permitAll()
+                    // 전체 내보내기는 커넥션을 오래 잡으므로 익명으로는 열지 않는다
+                    .mvcMatchers(HttpMethod.GET, "/api/events/export")
+                        .authenticated()
                     .mvcMatchers(HttpMethod.GET, "api/**")
                         .permitAll()
                     .anyRequest()
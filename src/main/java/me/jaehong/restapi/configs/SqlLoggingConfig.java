@@ -0,0 +1,20 @@
+package me.jaehong.restapi.configs;
+
+import me.jaehong.restapi.common.AppProperties;
+import me.jaehong.restapi.common.SampledSqlLogger;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnExpression("${my-app.sql-log-sample-rate:0} > 0")
+public class SqlLoggingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sampledSqlLoggerCustomizer(AppProperties appProperties) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                new SampledSqlLogger(appProperties.getSqlLogSampleRate()));
+    }
+}
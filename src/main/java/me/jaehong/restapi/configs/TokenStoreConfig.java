@@ -0,0 +1,36 @@
+package me.jaehong.restapi.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import me.jaehong.restapi.common.AppProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableScheduling
+public class TokenStoreConfig {
+
+    @Bean
+    public ExpiringJdbcTokenStore jdbcTokenStore(DataSource dataSource) {
+        return new ExpiringJdbcTokenStore(dataSource);
+    }
+
+    @Bean
+    @Primary
+    public CachingTokenStore tokenStore(ExpiringJdbcTokenStore jdbcTokenStore, AppProperties appProperties, MeterRegistry meterRegistry) {
+        return new CachingTokenStore(jdbcTokenStore, appProperties.getCacheMaximumSize(), appProperties.getTokenCacheTimeToLive(), meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder tokenStoreMetrics(CachingTokenStore tokenStore) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, tokenStore.getAccessTokens(), "oauth.accessTokens");
+            CaffeineCacheMetrics.monitor(registry, tokenStore.getAuthentications(), "oauth.authentications");
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package me.jaehong.restapi.enrollments;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.*;
+import me.jaehong.restapi.accounts.Account;
+import me.jaehong.restapi.accounts.AccountSerializer;
+import me.jaehong.restapi.events.Event;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Builder @AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter @EqualsAndHashCode(of = "id")
+@Entity
+public class Enrollment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollment_seq")
+    @SequenceGenerator(name = "enrollment_seq", sequenceName = "enrollment_seq", allocationSize = 50)
+    private Integer id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JsonIgnore
+    private Event event;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JsonSerialize(using = AccountSerializer.class)
+    private Account account;
+    @Enumerated(EnumType.STRING)
+    private EnrollmentStatus status;
+    @JsonIgnore
+    private Integer stripe; // 자리를 가져온 줄, 대기 중이면 null
+    private LocalDateTime enrolledDateTime;
+}
@@ -0,0 +1,175 @@
+package me.jaehong.restapi.enrollments;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import me.jaehong.restapi.common.AppProperties;
+import me.jaehong.restapi.events.Event;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 이벤트의 남은 자리를 {@code enrollment_stripe} 의 여러 줄에 나눠 세고, 자리는 조건부 UPDATE 로 가져간다.
+ * 한 신청은 임의의 줄에서 시작해 자리가 남은 줄 하나만 잠그므로, 신청이 몰려도 한 행 잠금에 줄 서지 않는다.
+ * 모든 줄이 0 이면 정원이 찬 것이다. 줄마다 0 밑으로는 내려가지 않으므로 정원을 넘겨 받지 않는다.
+ * 줄 수는 만들 때의 {@code my-app.enrollment-stripes} 로 정하고, 그 뒤로는 저장된 줄 수를 쓴다.
+ */
+@Component
+public class EnrollmentCapacity {
+
+    private static final String TAKE_SQL = "update enrollment_stripe set remaining = remaining - 1 " +
+            "where event_id = ? and stripe = ? and remaining > 0";
+
+    private static final String GIVE_BACK_SQL = "update enrollment_stripe set remaining = remaining + 1 " +
+            "where event_id = ? and stripe = ?";
+
+    private static final String INSERT_SQL = "insert into enrollment_stripe (event_id, stripe, remaining) values (?, ?, ?)";
+
+    /**
+     * 값을 바꾸지 않는 UPDATE 로 이벤트 행을 잠근다. 키를 바꾸지 않으므로 신청 행의 외래 키 검사와는 부딪히지 않는다.
+     * SELECT ... FOR UPDATE 는 자리를 잡고 신청을 저장하는 트랜잭션과 교착될 수 있다
+     */
+    private static final String LOCK_EVENT_SQL = "update event set limit_of_enrollment = limit_of_enrollment where id = ?";
+
+    private static final String LIMIT_SQL = "select limit_of_enrollment from event where id = ?";
+
+    private static final String COUNT_SQL = "select count(*) from enrollment_stripe where event_id = ?";
+
+    private static final String LOCK_SQL = "select stripe from enrollment_stripe where event_id = ? order by stripe for update";
+
+    private static final String SET_SQL = "update enrollment_stripe set remaining = ? where event_id = ? and stripe = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EnrollmentRepository enrollmentRepository;
+
+    private final AppProperties appProperties;
+
+    /**
+     * 줄을 만든 이벤트와 그 줄 수. 신청마다 줄이 있는지 다시 묻지 않는다
+     */
+    private final Cache<Integer, Integer> created;
+
+    public EnrollmentCapacity(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              EnrollmentRepository enrollmentRepository, AppProperties appProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enrollmentRepository = enrollmentRepository;
+        this.appProperties = appProperties;
+        this.created = Caffeine.newBuilder()
+                .maximumSize(appProperties.getCacheMaximumSize())
+                .build();
+    }
+
+    /**
+     * 이벤트의 첫 신청 전에 정원을 줄에 나눠 담는다. 트랜잭션 밖에서 불러야 한다.
+     * 이벤트 행을 잠그고 지금 저장된 정원을 읽어 나누므로, 정원을 바꾸는 수정({@link #resize})과 차례로 돈다.
+     * 동시에 여러 요청이 만들려고 하면 하나만 성공하고 나머지는 이미 있는 줄을 쓴다.
+     */
+    public void createIfAbsent(Event event) {
+        if (this.created.getIfPresent(event.getId()) != null) {
+            return;
+        }
+        try {
+            this.transactionTemplate.execute(transaction -> {
+                if (this.jdbcTemplate.update(LOCK_EVENT_SQL, event.getId()) == 0) {
+                    return null;
+                }
+                Integer limitOfEnrollment = this.jdbcTemplate.queryForObject(LIMIT_SQL, Integer.class, event.getId());
+                List<Object[]> stripes = new ArrayList<>();
+                int[] remaining = distribute(limitOfEnrollment, this.appProperties.getEnrollmentStripes());
+                for (int stripe = 0; stripe < remaining.length; stripe++) {
+                    stripes.add(new Object[]{event.getId(), stripe, remaining[stripe]});
+                }
+                return this.jdbcTemplate.batchUpdate(INSERT_SQL, stripes);
+            });
+        } catch (DuplicateKeyException e) {
+            // 다른 요청이 먼저 만들었다
+        }
+        stripes(event.getId());
+    }
+
+    /**
+     * 자리가 남은 줄 하나에서 자리를 가져간다. 그 줄은 트랜잭션이 끝날 때까지 잠긴다.
+     *
+     * @return 자리를 가져온 줄, 정원이 찼으면 null
+     */
+    public Integer take(Integer eventId) {
+        int stripes = stripes(eventId);
+        if (stripes == 0) {
+            return null;
+        }
+        int start = ThreadLocalRandom.current().nextInt(stripes);
+        for (int i = 0; i < stripes; i++) {
+            int stripe = (start + i) % stripes;
+            if (this.jdbcTemplate.update(TAKE_SQL, eventId, stripe) > 0) {
+                return stripe;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 확정을 취소한 자리를 가져왔던 줄에 돌려준다
+     */
+    public void giveBack(Integer eventId, Integer stripe) {
+        this.jdbcTemplate.update(GIVE_BACK_SQL, eventId, stripe);
+    }
+
+    /**
+     * 정원을 바꾼다. 이벤트 행과 모든 줄을 잠가 그동안 줄을 만들거나 자리를 가져가거나 돌려주는 신청이 없게 한 뒤,
+     * 새 정원에서 확정된 신청 수를 뺀 자리를 다시 나눠 담는다. 새 정원을 저장하는 트랜잭션 안에서 불러야 하고,
+     * 잠금은 커밋할 때까지 이어진다.
+     *
+     * @return 확정된 신청이 새 정원보다 많으면 아무것도 바꾸지 않고 false
+     */
+    public boolean resize(Integer eventId, int limitOfEnrollment) {
+        this.jdbcTemplate.update(LOCK_EVENT_SQL, eventId);
+        List<Integer> stripes = this.jdbcTemplate.queryForList(LOCK_SQL, Integer.class, eventId);
+        if (stripes.isEmpty()) {
+            // 아직 줄이 없다. 첫 신청은 이 트랜잭션이 커밋한 뒤 저장된 새 정원으로 줄을 만든다
+            return true;
+        }
+        long available = limitOfEnrollment - this.enrollmentRepository.countByEventIdAndStatus(eventId, EnrollmentStatus.ACCEPTED);
+        if (available < 0) {
+            return false;
+        }
+        int[] remaining = distribute((int) available, stripes.size());
+        List<Object[]> updates = new ArrayList<>();
+        for (int i = 0; i < stripes.size(); i++) {
+            updates.add(new Object[]{remaining[i], eventId, stripes.get(i)});
+        }
+        this.jdbcTemplate.batchUpdate(SET_SQL, updates);
+        return true;
+    }
+
+    /**
+     * 줄은 0 부터 차례로 만들고 지우지 않으므로 줄 수만 알면 된다. 아직 줄이 없으면 기억하지 않는다
+     */
+    private int stripes(Integer eventId) {
+        Integer stripes = this.created.getIfPresent(eventId);
+        if (stripes == null) {
+            stripes = this.jdbcTemplate.queryForObject(COUNT_SQL, Integer.class, eventId);
+            if (stripes > 0) {
+                this.created.put(eventId, stripes);
+            }
+        }
+        return stripes;
+    }
+
+    private static int[] distribute(int capacity, int stripes) {
+        int[] remaining = new int[stripes];
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            remaining[stripe] = capacity / stripes + (stripe < capacity % stripes ? 1 : 0);
+        }
+        return remaining;
+    }
+}
@@ -0,0 +1,167 @@
+package me.jaehong.restapi.enrollments;
+
+import me.jaehong.restapi.accounts.Account;
+import me.jaehong.restapi.accounts.AccountPrincipal;
+import me.jaehong.restapi.accounts.AccountRepository;
+import me.jaehong.restapi.accounts.CurrentUser;
+import me.jaehong.restapi.common.ErrorsResource;
+import me.jaehong.restapi.events.Event;
+import me.jaehong.restapi.events.EventController;
+import me.jaehong.restapi.events.EventLinks;
+import me.jaehong.restapi.events.EventRepository;
+import me.jaehong.restapi.events.EventStatus;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Optional;
+
+@Controller
+@RequestMapping(value = EnrollmentController.PATH, produces = MediaTypes.HAL_JSON_UTF8_VALUE)
+public class EnrollmentController {
+
+    public static final String PATH = EventController.PATH + "/{eventId}/enrollments";
+
+    private final EventRepository eventRepository;
+
+    private final EnrollmentRepository enrollmentRepository;
+
+    private final EnrollmentService enrollmentService;
+
+    private final AccountRepository accountRepository;
+
+    public EnrollmentController(EventRepository eventRepository, EnrollmentRepository enrollmentRepository,
+                                EnrollmentService enrollmentService, AccountRepository accountRepository) {
+        this.eventRepository = eventRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.enrollmentService = enrollmentService;
+        this.accountRepository = accountRepository;
+    }
+
+    @PostMapping
+    public ResponseEntity createEnrollment(@PathVariable Integer eventId, @CurrentUser AccountPrincipal currentUser) {
+        Optional<Event> optionalEvent = this.eventRepository.findById(eventId);
+        if (optionalEvent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Event event = optionalEvent.get();
+        if (event.getEventStatus() != EventStatus.BEGAN_ENROLLMENT) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "enrollment");
+            errors.reject("enrollmentClosed", "Event is not open for enrollment.");
+            return badRequest(errors);
+        }
+
+        // 중복 신청은 자리를 잠그기 전에 거른다. 동시에 들어온 중복은 유니크 제약이 막는다
+        if (this.enrollmentRepository.existsByEventIdAndAccountId(eventId, currentUser.getId())) {
+            return alreadyEnrolled();
+        }
+
+        Enrollment enrollment = this.enrollmentService.enroll(event, this.accountRepository.getOne(currentUser.getId()));
+        EnrollmentResource enrollmentResource = new EnrollmentResource(enrollment, eventId);
+        enrollmentResource.add(EnrollmentLinks.cancelEnrollment(eventId, enrollment.getId()));
+        enrollmentResource.add(EnrollmentLinks.createProfile());
+        return ResponseEntity.created(URI.create(EnrollmentLinks.enrollmentHref(eventId, enrollment.getId())))
+                .body(enrollmentResource);
+    }
+
+    /**
+     * 확정된 신청부터, 각각 신청한 순서로 페이지 단위로 돌려준다. 순서는 정해져 있으므로 sort 는 무시한다. 매니저만 볼 수 있다.
+     */
+    @GetMapping
+    public ResponseEntity queryEnrollments(@PathVariable Integer eventId, Pageable pageable,
+                                           PagedResourcesAssembler<Enrollment> assembler,
+                                           @CurrentUser AccountPrincipal currentUser) {
+        Optional<Event> optionalEvent = this.eventRepository.findById(eventId);
+        if (optionalEvent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!is(optionalEvent.get().getManager(), currentUser)) {
+            return new ResponseEntity(HttpStatus.UNAUTHORIZED);
+        }
+
+        Page<Enrollment> page = this.enrollmentRepository.findByEventIdOrderByStatusAscIdAsc(eventId,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        var resources = assembler.toResource(page, enrollment -> new EnrollmentResource(enrollment, eventId));
+        resources.add(EventLinks.event(eventId));
+        resources.add(EnrollmentLinks.listProfile());
+        return ResponseEntity.ok(resources);
+    }
+
+    /**
+     * 신청한 본인과 이벤트 매니저만 볼 수 있다.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity getEnrollment(@PathVariable Integer eventId, @PathVariable Integer id,
+                                        @CurrentUser AccountPrincipal currentUser) {
+        Optional<Enrollment> optionalEnrollment = findEnrollment(eventId, id);
+        if (optionalEnrollment.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Enrollment enrollment = optionalEnrollment.get();
+        boolean enrollee = is(enrollment.getAccount(), currentUser);
+        if (!enrollee && !is(enrollment.getEvent().getManager(), currentUser)) {
+            return new ResponseEntity(HttpStatus.UNAUTHORIZED);
+        }
+
+        EnrollmentResource enrollmentResource = new EnrollmentResource(enrollment, eventId);
+        if (enrollee) {
+            enrollmentResource.add(EnrollmentLinks.cancelEnrollment(eventId, id));
+        }
+        enrollmentResource.add(EnrollmentLinks.getProfile());
+        return ResponseEntity.ok(enrollmentResource);
+    }
+
+    /**
+     * 신청한 본인만 취소할 수 있다. 확정된 신청을 취소하면 그 자리는 첫 대기자가 받는다.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity cancelEnrollment(@PathVariable Integer eventId, @PathVariable Integer id,
+                                           @CurrentUser AccountPrincipal currentUser) {
+        Optional<Enrollment> optionalEnrollment = findEnrollment(eventId, id);
+        if (optionalEnrollment.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!is(optionalEnrollment.get().getAccount(), currentUser)) {
+            return new ResponseEntity(HttpStatus.UNAUTHORIZED);
+        }
+
+        this.enrollmentService.cancel(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 확인한 뒤 같은 계정의 신청이 먼저 커밋된 경우다.
+     */
+    @ExceptionHandler(DuplicateKeyException.class)
+    public ResponseEntity alreadyEnrolled() {
+        return new ResponseEntity(HttpStatus.CONFLICT);
+    }
+
+    private boolean is(Account account, AccountPrincipal currentUser) {
+        return currentUser != null && currentUser.is(account);
+    }
+
+    private Optional<Enrollment> findEnrollment(Integer eventId, Integer id) {
+        return this.enrollmentRepository.findById(id)
+                .filter(enrollment -> enrollment.getEvent().getId().equals(eventId));
+    }
+
+    private ResponseEntity badRequest(Errors errors) {
+        return ResponseEntity.badRequest().body(new ErrorsResource(errors));
+    }
+}
@@ -0,0 +1,49 @@
+package me.jaehong.restapi.enrollments;
+
+import me.jaehong.restapi.events.EventLinks;
+import org.springframework.hateoas.Link;
+
+/**
+ * 신청 리소스의 링크를 만든다. {@link EventLinks} 처럼 이벤트 경로에 붙여 만든다.
+ */
+public final class EnrollmentLinks {
+
+    private static final Link PROFILE_CREATE = profile("resources-enrollments-create");
+    private static final Link PROFILE_LIST = profile("resources-enrollments-list");
+    private static final Link PROFILE_GET = profile("resources-enrollments-get");
+
+    private EnrollmentLinks() {
+    }
+
+    public static String enrollmentsHref(Integer eventId) {
+        return EventLinks.eventHref(eventId) + "/enrollments";
+    }
+
+    public static String enrollmentHref(Integer eventId, Integer id) {
+        return enrollmentsHref(eventId) + "/" + id;
+    }
+
+    public static Link self(Integer eventId, Integer id) {
+        return new Link(enrollmentHref(eventId, id));
+    }
+
+    public static Link cancelEnrollment(Integer eventId, Integer id) {
+        return new Link(enrollmentHref(eventId, id), "cancel-enrollment");
+    }
+
+    public static Link createProfile() {
+        return PROFILE_CREATE;
+    }
+
+    public static Link listProfile() {
+        return PROFILE_LIST;
+    }
+
+    public static Link getProfile() {
+        return PROFILE_GET;
+    }
+
+    private static Link profile(String section) {
+        return new Link("/docs/index.html#" + section, "profile");
+    }
+}
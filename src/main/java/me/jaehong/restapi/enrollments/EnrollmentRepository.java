@@ -0,0 +1,36 @@
+package me.jaehong.restapi.enrollments;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer> {
+
+    boolean existsByEventIdAndAccountId(Integer eventId, Integer accountId);
+
+    long countByEventIdAndStatus(Integer eventId, EnrollmentStatus status);
+
+    Page<Enrollment> findByEventIdOrderByStatusAscIdAsc(Integer eventId, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Enrollment> findLockedById(Integer id);
+
+    @Query("select min(e.id) from Enrollment e " +
+            "where e.event.id = :eventId and e.status = me.jaehong.restapi.enrollments.EnrollmentStatus.WAITING")
+    Optional<Integer> findFirstWaitingId(@Param("eventId") Integer eventId);
+
+    /**
+     * 대기 중인 신청을 확정한다. 다른 트랜잭션이 먼저 확정하거나 취소했으면 0 을 돌려준다
+     */
+    @Modifying
+    @Query("update Enrollment e set e.status = me.jaehong.restapi.enrollments.EnrollmentStatus.ACCEPTED, e.stripe = :stripe " +
+            "where e.id = :id and e.status = me.jaehong.restapi.enrollments.EnrollmentStatus.WAITING")
+    int accept(@Param("id") Integer id, @Param("stripe") Integer stripe);
+}
@@ -0,0 +1,14 @@
+package me.jaehong.restapi.enrollments;
+
+import me.jaehong.restapi.events.EventLinks;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Resource;
+
+public class EnrollmentResource extends Resource<Enrollment> {
+
+    public EnrollmentResource(Enrollment enrollment, Integer eventId, Link... links) {
+        super(enrollment, links);
+        add(EnrollmentLinks.self(eventId, enrollment.getId()));
+        add(EventLinks.event(eventId));
+    }
+}
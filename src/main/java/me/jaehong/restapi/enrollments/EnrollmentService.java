@@ -0,0 +1,154 @@
+package me.jaehong.restapi.enrollments;
+
+import me.jaehong.restapi.accounts.Account;
+import me.jaehong.restapi.events.Event;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 신청을 받고 취소한다. 자리는 {@link EnrollmentCapacity} 에서 가져오고, 자리가 없으면 대기 명단에 올린다.
+ * 대기자는 신청한 순서(id 순)로 자리를 받는다.
+ */
+@Service
+public class EnrollmentService {
+
+    // V6__enrollment.sql
+    private static final String ACCOUNT_UNIQUE_CONSTRAINT = "enrollment_event_id_account_id_uk";
+
+    private final EnrollmentRepository enrollmentRepository;
+
+    private final EnrollmentCapacity enrollmentCapacity;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public EnrollmentService(EnrollmentRepository enrollmentRepository, EnrollmentCapacity enrollmentCapacity,
+                             PlatformTransactionManager transactionManager) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.enrollmentCapacity = enrollmentCapacity;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 자리를 가져오고 신청을 저장하는 것까지 한 트랜잭션으로 하므로, 자리를 가져온 줄은 신청 하나를 저장하는 동안만 잠긴다.
+     * 이미 신청한 계정이면 유니크 제약으로 롤백하고 가져온 자리도 돌아간다.
+     *
+     * @throws DuplicateKeyException 이미 신청한 계정이면
+     */
+    public Enrollment enroll(Event event, Account account) {
+        this.enrollmentCapacity.createIfAbsent(event);
+        Enrollment enrollment;
+        try {
+            enrollment = this.transactionTemplate.execute(transaction -> {
+                Integer stripe = this.enrollmentCapacity.take(event.getId());
+                return this.enrollmentRepository.saveAndFlush(Enrollment.builder()
+                        .event(event)
+                        .account(account)
+                        .status(stripe == null ? EnrollmentStatus.WAITING : EnrollmentStatus.ACCEPTED)
+                        .stripe(stripe)
+                        .enrolledDateTime(LocalDateTime.now())
+                        .build());
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw isAlreadyEnrolled(e) ? new DuplicateKeyException(e.getMessage(), e) : e;
+        }
+        if (enrollment.getStatus() == EnrollmentStatus.WAITING && promote(event.getId()) > 0) {
+            // 자리가 없다고 본 뒤 커밋하기 전에 취소가 자리를 돌려줬을 수 있다. 그 자리는 먼저 기다린 대기자부터 받는다
+            return this.enrollmentRepository.findById(enrollment.getId()).orElse(enrollment);
+        }
+        return enrollment;
+    }
+
+    /**
+     * 확정된 신청을 취소하면 그 자리는 줄에 돌려주지 않고 바로 첫 대기자에게 넘긴다. 새 신청이 대기자를 앞지르지 않는다.
+     * 신청 행을 잠그고 읽으므로 그 사이에 대기에서 확정으로 바뀌어 자리를 잃는 일이 없다.
+     */
+    public void cancel(Integer enrollmentId) {
+        this.transactionTemplate.execute(transaction -> {
+            this.enrollmentRepository.findLockedById(enrollmentId).ifPresent(enrollment -> {
+                this.enrollmentRepository.delete(enrollment);
+                this.enrollmentRepository.flush();
+                Integer eventId = enrollment.getEvent().getId();
+                if (enrollment.getStatus() == EnrollmentStatus.ACCEPTED && !handOver(eventId, enrollment.getStripe())) {
+                    this.enrollmentCapacity.giveBack(eventId, enrollment.getStripe());
+                }
+            });
+            return null;
+        });
+    }
+
+    /**
+     * 정원을 바꾸고 늘어난 자리를 대기자에게 준다. 이벤트 수정 트랜잭션 안에서 불러야 한다.
+     *
+     * @return 확정된 신청이 새 정원보다 많으면 false
+     */
+    public boolean resize(Event event, int limitOfEnrollment) {
+        if (!this.enrollmentCapacity.resize(event.getId(), limitOfEnrollment)) {
+            return false;
+        }
+        promote(event.getId());
+        return true;
+    }
+
+    /**
+     * 남은 자리를 대기자에게 하나씩 준다.
+     *
+     * @return 자리를 받은 대기자 수
+     */
+    private int promote(Integer eventId) {
+        int promoted = 0;
+        while (this.transactionTemplate.execute(transaction -> promoteFirst(eventId))) {
+            promoted++;
+        }
+        return promoted;
+    }
+
+    private boolean promoteFirst(Integer eventId) {
+        if (this.enrollmentRepository.findFirstWaitingId(eventId).isEmpty()) {
+            return false;
+        }
+        Integer stripe = this.enrollmentCapacity.take(eventId);
+        if (stripe == null) {
+            return false;
+        }
+        if (handOver(eventId, stripe)) {
+            return true;
+        }
+        // 그 사이에 대기자가 모두 자리를 받았거나 취소했다
+        this.enrollmentCapacity.giveBack(eventId, stripe);
+        return false;
+    }
+
+    /**
+     * 첫 대기자를 확정한다. 다른 트랜잭션이 같은 대기자를 먼저 확정하거나 취소했으면 다음 대기자로 넘어간다.
+     *
+     * @return 대기자가 없으면 false
+     */
+    private boolean handOver(Integer eventId, Integer stripe) {
+        Optional<Integer> waitingId;
+        while ((waitingId = this.enrollmentRepository.findFirstWaitingId(eventId)).isPresent()) {
+            if (this.enrollmentRepository.accept(waitingId.get(), stripe) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * JPA 는 유니크 제약 위반도 DataIntegrityViolationException 으로 바꾸므로 제약 이름으로 가린다.
+     * H2 는 이름 앞뒤에 스키마와 인덱스 이름을 붙이고 대문자로 돌려준다.
+     */
+    private boolean isAlreadyEnrolled(DataIntegrityViolationException e) {
+        if (!(e.getCause() instanceof ConstraintViolationException)) {
+            return false;
+        }
+        String constraintName = ((ConstraintViolationException) e.getCause()).getConstraintName();
+        return constraintName != null && constraintName.toLowerCase().contains(ACCOUNT_UNIQUE_CONSTRAINT);
+    }
+}
@@ -0,0 +1,8 @@
+package me.jaehong.restapi.enrollments;
+
+public enum EnrollmentStatus {
+    /** 자리를 받았다 */
+    ACCEPTED,
+    /** 정원이 차서 대기 중이다. 자리가 나면 신청한 순서대로 받는다 */
+    WAITING
+}
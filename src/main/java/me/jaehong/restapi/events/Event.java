@@ -4,6 +4,11 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.*;
 import me.jaehong.restapi.accounts.Account;
 import me.jaehong.restapi.accounts.AccountSerializer;
+import me.jaehong.restapi.configs.CacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -12,9 +17,13 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Getter @Setter @EqualsAndHashCode(of = "id")
 @Entity
+@DynamicUpdate // 바뀐 컬럼만 UPDATE 한다
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.EVENTS)
 public class Event {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
     private Integer id;
     private String name;
     private String description;
@@ -30,9 +39,13 @@ public class Event {
     private boolean free;
     @Enumerated(EnumType.STRING)
     private EventStatus eventStatus = EventStatus.DRAFT;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonSerialize(using = AccountSerializer.class)
     private Account manager;
+    @Version
+    private Long version;
+    @UpdateTimestamp
+    private LocalDateTime lastModifiedDateTime;
 
     public void update() {
         //Update free
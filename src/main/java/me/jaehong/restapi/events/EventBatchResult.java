@@ -0,0 +1,34 @@
+package me.jaehong.restapi.events;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.Errors;
+
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventBatchResult {
+
+    private final int index;
+
+    private final int status;
+
+    private final EventResource event;
+
+    private final Errors errors;
+
+    private EventBatchResult(int index, HttpStatus status, EventResource event, Errors errors) {
+        this.index = index;
+        this.status = status.value();
+        this.event = event;
+        this.errors = errors;
+    }
+
+    public static EventBatchResult created(int index, EventResource event) {
+        return new EventBatchResult(index, HttpStatus.CREATED, event, null);
+    }
+
+    public static EventBatchResult badRequest(int index, Errors errors) {
+        return new EventBatchResult(index, HttpStatus.BAD_REQUEST, null, errors);
+    }
+}
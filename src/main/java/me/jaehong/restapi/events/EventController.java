@@ -1,45 +1,112 @@
 package me.jaehong.restapi.events;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import me.jaehong.restapi.accounts.Account;
+import me.jaehong.restapi.accounts.AccountPrincipal;
+import me.jaehong.restapi.accounts.AccountRepository;
 import me.jaehong.restapi.accounts.CurrentUser;
+import me.jaehong.restapi.common.AppProperties;
+import me.jaehong.restapi.common.CursorPagedResources;
 import me.jaehong.restapi.common.ErrorsResource;
-import org.modelmapper.ModelMapper;
+import me.jaehong.restapi.enrollments.EnrollmentService;
+import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
-import org.springframework.hateoas.mvc.ControllerLinkBuilder;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.Resources;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.Validator;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
-import java.util.Optional;
-
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+import java.util.*;
 
 @Controller
-@RequestMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_UTF8_VALUE)
+@RequestMapping(value = EventController.PATH, produces = MediaTypes.HAL_JSON_UTF8_VALUE)
 public class EventController {
 
+    public static final String PATH = "/api/events";
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    public static final String MERGE_PATCH_VALUE = "application/merge-patch+json";
+
     private final EventRepository eventRepository;
 
-    private final ModelMapper modelMapper;
+    private final EventMapper eventMapper;
 
     private final EventValidator eventValidator;
 
-    public EventController(EventRepository eventRepository, ModelMapper modelMapper, EventValidator eventValidator) {
+    private final SpringValidatorAdapter beanValidator;
+
+    private final ObjectMapper objectMapper;
+
+    private final AppProperties appProperties;
+
+    private final EventExporter eventExporter;
+
+    private final EventTextSearch eventTextSearch;
+
+    private final EventQueryExecutor eventQueryExecutor;
+
+    private final EventRepresentationCache eventRepresentationCache;
+
+    private final EnrollmentService enrollmentService;
+
+    private final AccountRepository accountRepository;
+
+    public EventController(EventRepository eventRepository, EventMapper eventMapper, EventValidator eventValidator,
+                           Validator beanValidator, ObjectMapper objectMapper, AppProperties appProperties,
+                           EventExporter eventExporter, EventTextSearch eventTextSearch,
+                           EventQueryExecutor eventQueryExecutor, EventRepresentationCache eventRepresentationCache,
+                           EnrollmentService enrollmentService, AccountRepository accountRepository) {
         this.eventRepository = eventRepository;
-        this.modelMapper = modelMapper;
+        this.eventMapper = eventMapper;
         this.eventValidator = eventValidator;
+        this.beanValidator = new SpringValidatorAdapter(beanValidator);
+        this.objectMapper = objectMapper;
+        this.appProperties = appProperties;
+        this.eventExporter = eventExporter;
+        this.eventTextSearch = eventTextSearch;
+        this.eventQueryExecutor = eventQueryExecutor;
+        this.eventRepresentationCache = eventRepresentationCache;
+        this.enrollmentService = enrollmentService;
+        this.accountRepository = accountRepository;
     }
 
     @PostMapping
-    public ResponseEntity createEvent(@RequestBody @Valid EventDto eventDto, Errors errors, @CurrentUser Account currentUser) {
+    public ResponseEntity createEvent(@RequestBody @Valid EventDto eventDto, Errors errors, @CurrentUser AccountPrincipal currentUser) {
         if (errors.hasErrors()) {
             return badRequest(errors);
         }
@@ -49,52 +116,356 @@ public class EventController {
             return badRequest(errors);
         }
 
-        Event event = modelMapper.map(eventDto, Event.class);
+        Event event = this.eventMapper.toEvent(eventDto);
         event.update();
-        event.setManager(currentUser);
+        event.setManager(reference(currentUser));
         Event newEvent = this.eventRepository.save(event);
 
-        ControllerLinkBuilder selfLinkBuilder = linkTo(EventController.class).slash(newEvent.getId());
-        URI createdUri = selfLinkBuilder.toUri();
+        URI createdUri = URI.create(EventLinks.eventHref(newEvent.getId()));
         EventResource eventResource = new EventResource(event);
-        eventResource.add(linkTo(EventController.class).withRel("query-events"));
-        eventResource.add(selfLinkBuilder.withRel("update-event"));
-        eventResource.add(new Link("/docs/index.html#resources-events-create").withRel("profile"));
-        return ResponseEntity.created(createdUri).body(eventResource);
+        eventResource.add(EventLinks.queryEvents());
+        eventResource.add(EventLinks.updateEvent(newEvent.getId()));
+        eventResource.add(EventLinks.createProfile());
+        return ResponseEntity.created(createdUri)
+                .eTag(EventETags.of(newEvent.getVersion(), true))
+                .body(eventResource);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity createEvents(@RequestBody List<EventDto> eventDtos, @CurrentUser AccountPrincipal currentUser) {
+        return createEventBatch(eventDtos, currentUser);
+    }
+
+    @PostMapping(value = "/batch", consumes = NDJSON_VALUE)
+    public ResponseEntity createEventsFromStream(InputStream body, @CurrentUser AccountPrincipal currentUser) throws IOException {
+        List<EventDto> eventDtos = new ArrayList<>();
+        ObjectReader reader = this.objectMapper.readerFor(EventDto.class);
+        // MappingIterator 는 null 줄을 읽지 못하므로 토큰을 직접 보고 null 은 그대로 담는다
+        try (JsonParser parser = this.objectMapper.getFactory().createParser(body)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                eventDtos.add(token == JsonToken.VALUE_NULL ? null : reader.readValue(parser));
+                // 한도를 넘으면 나머지는 읽지 않는다
+                if (eventDtos.size() > this.appProperties.getEventBatchMaxSize()) {
+                    return tooManyEvents();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "eventDto");
+            errors.reject("wrongFormat", "Body is not a valid NDJSON stream of events.");
+            return badRequest(errors);
+        }
+        return createEventBatch(eventDtos, currentUser);
+    }
+
+    private ResponseEntity createEventBatch(List<EventDto> eventDtos, AccountPrincipal currentUser) {
+        if (eventDtos.size() > this.appProperties.getEventBatchMaxSize()) {
+            return tooManyEvents();
+        }
+
+        // 항목마다 어긴 규칙을 모두 돌려준다. null 항목은 검사하지 않고 형식 오류로 돌려준다
+        List<Errors> itemErrors = new ArrayList<>(eventDtos.size());
+        List<EventDto> presentDtos = new ArrayList<>(eventDtos.size());
+        List<Errors> presentErrors = new ArrayList<>(eventDtos.size());
+        for (EventDto eventDto : eventDtos) {
+            if (eventDto == null) {
+                Errors errors = new MapBindingResult(new HashMap<>(), "eventDto");
+                errors.reject("wrongFormat", "Event is null.");
+                itemErrors.add(errors);
+                continue;
+            }
+            Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+            this.beanValidator.validate(eventDto, errors);
+            itemErrors.add(errors);
+            presentDtos.add(eventDto);
+            presentErrors.add(errors);
+        }
+        this.eventValidator.validateAll(presentDtos, presentErrors);
+
+        Account manager = reference(currentUser);
+        EventBatchResult[] results = new EventBatchResult[eventDtos.size()];
+        List<Event> events = new ArrayList<>(eventDtos.size());
+        List<Integer> indexes = new ArrayList<>(eventDtos.size());
+        for (int i = 0; i < eventDtos.size(); i++) {
+            EventDto eventDto = eventDtos.get(i);
+            Errors errors = itemErrors.get(i);
+            if (errors.hasErrors()) {
+                results[i] = EventBatchResult.badRequest(i, errors);
+                continue;
+            }
+
+            Event event = this.eventMapper.toEvent(eventDto);
+            event.update();
+            event.setManager(manager);
+            events.add(event);
+            indexes.add(i);
+        }
+
+        List<Event> savedEvents = this.eventRepository.saveAll(events);
+        for (int i = 0; i < savedEvents.size(); i++) {
+            int index = indexes.get(i);
+            results[index] = EventBatchResult.created(index, new EventResource(savedEvents.get(i)));
+        }
+
+        var resources = new Resources<>(Arrays.asList(results));
+        resources.add(EventLinks.queryEvents());
+        resources.add(EventLinks.batchProfile());
+        return ResponseEntity.ok(resources);
+    }
+
+    private ResponseEntity tooManyEvents() {
+        Errors errors = new MapBindingResult(new HashMap<>(), "eventDto");
+        errors.reject("tooManyEvents", "At most " + this.appProperties.getEventBatchMaxSize() + " events can be created at once.");
+        return badRequest(errors);
     }
 
     @GetMapping
-    public ResponseEntity queryEvents(Pageable pageable, PagedResourcesAssembler<Event> assembler, @CurrentUser Account account) {
-        Page<Event> page = this.eventRepository.findAll(pageable);
-        var pagedResources = assembler.toResource(page, e -> new EventResource(e));
-        pagedResources.add(new Link("/docs/index.html#resources-events-list").withRel("profile"));
+    public Object queryEvents(EventSearch search, Errors errors,
+                              Pageable pageable, PagedResourcesAssembler<Event> assembler,
+                              @CurrentUser AccountPrincipal account, WebRequest request) {
+        validateSearch(pageable.getSort(), errors);
+        if (errors.hasErrors()) {
+            return badRequest(errors);
+        }
+
+        return this.eventQueryExecutor.execute(() -> {
+            Page<Event> page = this.eventRepository.findAll(EventSpecifications.of(search), pageable);
+            return pagedEvents(page, assembler, account, request);
+        });
+    }
+
+    /**
+     * 검색 결과는 관련도 순이므로 정렬, 다른 조건, 커서와 함께 쓰면 무시하지 않고 거절한다.
+     */
+    @GetMapping(params = "q")
+    public Object searchEvents(@RequestParam String q, EventSearch search, Errors errors,
+                               Pageable pageable, PagedResourcesAssembler<Event> assembler,
+                               @CurrentUser AccountPrincipal account, WebRequest request) {
+        if (q.isBlank()) {
+            errors.reject("wrongQuery", "Search query is empty.");
+        }
+        if (pageable.getSort().isSorted()) {
+            errors.reject("wrongSort", "Search results are sorted by relevance.");
+        }
+        if (!search.equals(new EventSearch())) {
+            errors.reject("wrongQuery", "Search query cannot be combined with other conditions.");
+        }
+        if (request.getParameter("after") != null || request.getParameter("before") != null) {
+            errors.reject("wrongCursor", "Search results cannot be paged by cursor.");
+        }
+        if (errors.hasErrors()) {
+            return badRequest(errors);
+        }
+
+        return this.eventQueryExecutor.execute(() -> {
+            Page<Event> page = this.eventTextSearch.search(q, pageable);
+            return pagedEvents(page, assembler, account, request);
+        });
+    }
+
+    private ResponseEntity pagedEvents(Page<Event> page, PagedResourcesAssembler<Event> assembler,
+                                       AccountPrincipal account, WebRequest request) {
+        String eTag = EventETags.of(page, page.getTotalElements(), account != null);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        // 페이지 링크와 메타데이터만 어셈블러로 만들고 이벤트는 캐시한 본문으로 채운다
+        var pageLinks = assembler.toResource(page);
+        var pagedResources = new PagedResources<>(this.eventRepresentationCache.embedded(page.getContent()),
+                pageLinks.getMetadata(), pageLinks.getLinks());
+        pagedResources.add(EventLinks.listProfile());
+        if (account != null) {
+            pagedResources.add(EventLinks.createEvent());
+        }
+        return ResponseEntity.ok().eTag(eTag).body(pagedResources);
+    }
+
+    @GetMapping(params = {"after", "!before", "!q"})
+    public Object queryEventsAfter(@RequestParam String after,
+                                   @RequestParam(defaultValue = "false") boolean count,
+                                   EventSearch search, Errors errors,
+                                   Pageable pageable,
+                                   @CurrentUser AccountPrincipal account,
+                                   WebRequest request) {
+        return this.eventQueryExecutor.execute(() ->
+                queryEventsByCursor(after, null, count, search, errors, pageable, account, request));
+    }
+
+    @GetMapping(params = {"before", "!after", "!q"})
+    public Object queryEventsBefore(@RequestParam String before,
+                                    @RequestParam(defaultValue = "false") boolean count,
+                                    EventSearch search, Errors errors,
+                                    Pageable pageable,
+                                    @CurrentUser AccountPrincipal account,
+                                    WebRequest request) {
+        return this.eventQueryExecutor.execute(() ->
+                queryEventsByCursor(null, before, count, search, errors, pageable, account, request));
+    }
+
+    @GetMapping(params = {"after", "before", "!q"})
+    public ResponseEntity queryEventsBetween() {
+        Errors errors = new MapBindingResult(new HashMap<>(), "cursor");
+        errors.reject("wrongCursor", "Only one of after and before can be used.");
+        return badRequest(errors);
+    }
+
+    private ResponseEntity queryEventsByCursor(String after, String before, boolean count,
+                                               EventSearch search, Errors searchErrors, Pageable pageable,
+                                               AccountPrincipal account, WebRequest request) {
+        validateCursorSearch(pageable.getSort(), searchErrors);
+        if (searchErrors.hasErrors()) {
+            return badRequest(searchErrors);
+        }
+
+        Integer afterId;
+        Integer beforeId;
+        try {
+            afterId = EventCursor.decode(after);
+            beforeId = EventCursor.decode(before);
+        } catch (IllegalArgumentException e) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "cursor");
+            errors.reject("wrongCursor", "Cursor is wrong.");
+            return badRequest(errors);
+        }
+
+        boolean backward = before != null;
+        Specification<Event> spec = EventSpecifications.of(search);
+        List<Event> events;
+        boolean hasMore;
+        if (backward) {
+            Slice<Event> slice = this.eventRepository.findSlice(
+                    spec.and(EventSpecifications.idLessThan(beforeId == null ? Integer.MAX_VALUE : beforeId)),
+                    PageRequest.of(0, pageable.getPageSize(), Sort.Direction.DESC, "id"));
+            events = new ArrayList<>(slice.getContent());
+            Collections.reverse(events);
+            hasMore = slice.hasNext();
+        } else {
+            Slice<Event> slice = this.eventRepository.findSlice(
+                    spec.and(EventSpecifications.idGreaterThan(afterId == null ? 0 : afterId)),
+                    PageRequest.of(0, pageable.getPageSize(), Sort.Direction.ASC, "id"));
+            events = slice.getContent();
+            hasMore = slice.hasNext();
+        }
+
+        Long totalElements = count ? this.eventRepository.count(spec) : null;
+        String eTag = EventETags.of(events, totalElements == null ? -1 : totalElements, account != null);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        var resources = new CursorPagedResources<>(this.eventRepresentationCache.embedded(events), totalElements);
+        resources.add(new Link(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+        if (!events.isEmpty()) {
+            Integer firstId = events.get(0).getId();
+            Integer lastId = events.get(events.size() - 1).getId();
+            if (backward ? hasMore : afterId != null) {
+                resources.add(cursorLink("before", firstId, pageable).withRel(Link.REL_PREVIOUS));
+            }
+            // 빈 before 는 마지막 페이지다
+            if (backward ? beforeId != null : hasMore) {
+                resources.add(cursorLink("after", lastId, pageable).withRel(Link.REL_NEXT));
+            }
+        }
+        resources.add(EventLinks.listProfile());
         if (account != null) {
-            pagedResources.add(linkTo(EventController.class).withRel("create-event"));
+            resources.add(EventLinks.createEvent());
+        }
+        return ResponseEntity.ok().eTag(eTag).body(resources);
+    }
+
+    private void validateSearch(Sort sort, Errors errors) {
+        if (!EventSearch.isSortable(sort)) {
+            errors.reject("wrongSort", "Events can only be sorted by " + EventSearch.SORTABLE_PROPERTIES + ".");
+        }
+    }
+
+    /**
+     * 커서 페이지는 항상 id 오름차순이므로 다른 정렬은 무시하지 않고 거절한다.
+     */
+    private void validateCursorSearch(Sort sort, Errors errors) {
+        validateSearch(sort, errors);
+        if (EventSearch.isSortable(sort)
+                && !sort.stream().allMatch(order -> order.getProperty().equals("id") && order.isAscending())) {
+            errors.reject("wrongSort", "Cursor pages are sorted by id in ascending order.");
+        }
+    }
+
+    private Link cursorLink(String direction, Integer id, Pageable pageable) {
+        String href = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after")
+                .replaceQueryParam("before")
+                .replaceQueryParam(direction, EventCursor.encode(id))
+                .replaceQueryParam("size", pageable.getPageSize())
+                .toUriString();
+        return new Link(href);
+    }
+
+    /**
+     * 로그인한 계정만 내보낼 수 있다. 동시에 도는 내보내기가 다 찼으면 503 으로 나중에 다시 시도하게 한다.
+     */
+    @GetMapping(value = "/export", produces = NDJSON_VALUE)
+    public void exportEvents(HttpServletResponse response) throws IOException {
+        if (!this.eventExporter.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "60");
+            return;
+        }
+        try {
+            response.setContentType(NDJSON_VALUE);
+            this.eventExporter.export(response.getOutputStream());
+        } finally {
+            this.eventExporter.release();
         }
-        return ResponseEntity.ok(pagedResources);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity getEvent(@PathVariable Integer id, @CurrentUser Account currentUser) {
+    public Object getEvent(@PathVariable Integer id, @CurrentUser AccountPrincipal currentUser, WebRequest request) {
+        return this.eventQueryExecutor.execute(() -> findEvent(id, currentUser, request));
+    }
+
+    private ResponseEntity findEvent(Integer id, AccountPrincipal currentUser, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            Optional<EventVersion> optionalVersion = this.eventRepository.findVersionById(id);
+            if (optionalVersion.isPresent()) {
+                EventVersion version = optionalVersion.get();
+                String eTag = EventETags.of(version.getVersion(), isManager(version.getManagerId(), currentUser));
+                if (request.checkNotModified(eTag, EventETags.lastModified(version.getLastModifiedDateTime()))) {
+                    return null;
+                }
+            }
+        }
+
         Optional<Event> optionalEvent = this.eventRepository.findById(id);
         if (optionalEvent.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
         Event event = optionalEvent.get();
-        EventResource eventResource = new EventResource(event);
-        eventResource.add(new Link("/docs/index.html#resources-events-get").withRel("profile"));
-        if (event.getManager().equals(currentUser)) {
-            eventResource.add(linkTo(EventController.class).slash(event.getId()).withRel("update-event"));
+        boolean manager = isManager(event.getManager().getId(), currentUser);
+        Link self = EventLinks.self(event.getId());
+        EventRepresentationCache.EventJson body;
+        if (!manager) {
+            body = this.eventRepresentationCache.toJson(event, self, EventLinks.getProfile());
+        } else if (event.getEventStatus() == EventStatus.DRAFT) {
+            body = this.eventRepresentationCache.toJson(event, self, EventLinks.getProfile(),
+                    EventLinks.updateEvent(event.getId()), EventLinks.publishEvent(event.getId()));
+        } else {
+            body = this.eventRepresentationCache.toJson(event, self, EventLinks.getProfile(), EventLinks.updateEvent(event.getId()));
         }
-        return ResponseEntity.ok(eventResource);
+        return ResponseEntity.ok()
+                .eTag(EventETags.of(event.getVersion(), manager))
+                .lastModified(EventETags.lastModified(event.getLastModifiedDateTime()))
+                .body(body);
     }
 
     @PutMapping("/{id}")
+    @Transactional
     public ResponseEntity updateEvent(@PathVariable Integer id,
                                       @RequestBody @Valid EventDto eventDto,
                                       Errors errors,
-                                      @CurrentUser Account currentUser) {
+                                      @CurrentUser AccountPrincipal currentUser,
+                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) List<String> ifMatch) {
         Optional<Event> optionalEvent = this.eventRepository.findById(id);
         if (optionalEvent.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -110,17 +481,213 @@ public class EventController {
         }
 
         Event existingEvent = optionalEvent.get();
-        if (!existingEvent.getManager().equals(currentUser)) {
+        if (!isManager(existingEvent.getManager().getId(), currentUser)) {
+            return new ResponseEntity(HttpStatus.UNAUTHORIZED);
+        }
+
+        if (ifMatch == null || ifMatch.isEmpty()) {
+            return preconditionRequired(existingEvent);
+        }
+
+        if (!EventETags.matches(ifMatch, EventETags.of(existingEvent.getVersion(), true))) {
+            return preconditionFailed(existingEvent);
+        }
+
+        return applyUpdate(existingEvent, eventDto, errors, EventLinks.updateProfile());
+    }
+
+    /**
+     * JSON Merge Patch(RFC 7386). 보낸 필드만 바꾸고, null 을 보낸 필드는 비운다. 비울 수 없는 숫자 필드에 보낸 null 은 거절한다.
+     * 바뀐 값만 UPDATE 에 들어간다({@link org.hibernate.annotations.DynamicUpdate}).
+     */
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_VALUE)
+    @Transactional
+    public ResponseEntity patchEvent(@PathVariable Integer id,
+                                     @RequestBody JsonNode patch,
+                                     @CurrentUser AccountPrincipal currentUser,
+                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) List<String> ifMatch) {
+        Optional<Event> optionalEvent = this.eventRepository.findById(id);
+        if (optionalEvent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Event existingEvent = optionalEvent.get();
+        if (!isManager(existingEvent.getManager().getId(), currentUser)) {
             return new ResponseEntity(HttpStatus.UNAUTHORIZED);
         }
 
-        this.modelMapper.map(eventDto, existingEvent);
-        Event savedEvent = this.eventRepository.save(existingEvent);
+        if (ifMatch == null || ifMatch.isEmpty()) {
+            return preconditionRequired(existingEvent);
+        }
+
+        if (!EventETags.matches(ifMatch, EventETags.of(existingEvent.getVersion(), true))) {
+            return preconditionFailed(existingEvent);
+        }
+
+        EventDto eventDto = this.eventMapper.toEventDto(existingEvent);
+        Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        if (!merge(patch, eventDto)) {
+            errors.reject("wrongFormat", "Body is not a valid merge patch of an event.");
+            return badRequest(errors);
+        }
+
+        rejectRemovedPrimitives(patch, errors);
+        if (errors.hasErrors()) {
+            return badRequest(errors);
+        }
+
+        this.beanValidator.validate(eventDto, errors);
+        if (!errors.hasErrors()) {
+            this.eventValidator.validate(eventDto, errors);
+        }
+        if (errors.hasErrors()) {
+            return badRequest(errors);
+        }
+
+        return applyUpdate(existingEvent, eventDto, errors, EventLinks.patchProfile());
+    }
+
+    /**
+     * 모르는 필드나 타입이 맞지 않는 값이 있으면 false
+     */
+    private boolean merge(JsonNode patch, EventDto eventDto) {
+        if (!patch.isObject()) {
+            return false;
+        }
+        try {
+            this.objectMapper.readerForUpdating(eventDto).readValue(patch);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 기본 타입 필드는 비울 수 없다. null 을 그대로 읽으면 0 이 되어 저장되므로 wrongValue 로 거절한다
+     */
+    private void rejectRemovedPrimitives(JsonNode patch, Errors errors) {
+        patch.fields().forEachRemaining(field -> {
+            PropertyDescriptor property = BeanUtils.getPropertyDescriptor(EventDto.class, field.getKey());
+            if (field.getValue().isNull() && property != null && property.getPropertyType().isPrimitive()) {
+                errors.rejectValue(field.getKey(), "wrongValue", field.getKey() + " cannot be removed.");
+            }
+        });
+    }
+
+    /**
+     * 작성 중인 이벤트를 공개한다. 공개한 뒤의 상태는 {@link EventLifecycle} 이 날짜에 맞춰 옮긴다.
+     */
+    @PostMapping("/{id}/publish")
+    @Transactional
+    public ResponseEntity publishEvent(@PathVariable Integer id,
+                                       @CurrentUser AccountPrincipal currentUser,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) List<String> ifMatch) {
+        Optional<Event> optionalEvent = this.eventRepository.findById(id);
+        if (optionalEvent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Event existingEvent = optionalEvent.get();
+        if (!isManager(existingEvent.getManager().getId(), currentUser)) {
+            return new ResponseEntity(HttpStatus.UNAUTHORIZED);
+        }
+
+        if (!EventETags.matches(ifMatch, EventETags.of(existingEvent.getVersion(), true))) {
+            return preconditionFailed(existingEvent);
+        }
+
+        if (existingEvent.getEventStatus() != EventStatus.DRAFT) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "event");
+            errors.reject("alreadyPublished", "Event has already been published.");
+            return badRequest(errors);
+        }
+
+        existingEvent.setEventStatus(EventStatus.PUBLISHED);
+        Event savedEvent = this.eventRepository.saveAndFlush(existingEvent);
+        this.eventRepresentationCache.evict(existingEvent.getId());
 
         EventResource eventResource = new EventResource(savedEvent);
-        eventResource.add(new Link("/docs/index.html#resources-events-update").withRel("profile"));
+        eventResource.add(EventLinks.updateEvent(savedEvent.getId()));
+        eventResource.add(EventLinks.publishProfile());
+
+        return ResponseEntity.ok()
+                .eTag(EventETags.of(savedEvent.getVersion(), true))
+                .lastModified(EventETags.lastModified(savedEvent.getLastModifiedDateTime()))
+                .body(eventResource);
+    }
+
+    private ResponseEntity applyUpdate(Event existingEvent, EventDto eventDto, Errors errors, Link profile) {
+        // 이미 확정된 신청보다 정원을 줄일 수는 없다. 늘어난 자리는 대기자가 받는다
+        if (eventDto.getLimitOfEnrollment() != existingEvent.getLimitOfEnrollment()
+                && !this.enrollmentService.resize(existingEvent, eventDto.getLimitOfEnrollment())) {
+            errors.rejectValue("limitOfEnrollment", "tooManyEnrollments", "Limit of enrollment is less than accepted enrollments.");
+            return badRequest(errors);
+        }
+
+        this.eventMapper.update(eventDto, existingEvent);
+        existingEvent.update();
+        // 커밋 전에 버전이 올라가야 응답의 ETag 가 맞는다. 그 사이에 다른 요청이 먼저 고쳤으면 여기서 409 가 된다
+        Event savedEvent = this.eventRepository.saveAndFlush(existingEvent);
+        this.eventRepresentationCache.evict(existingEvent.getId());
+
+        EventResource eventResource = new EventResource(savedEvent);
+        eventResource.add(profile);
+
+        return ResponseEntity.ok()
+                .eTag(EventETags.of(savedEvent.getVersion(), true))
+                .lastModified(EventETags.lastModified(savedEvent.getLastModifiedDateTime()))
+                .body(eventResource);
+    }
+
+    /**
+     * 수정은 읽은 버전을 If-Match 로 보내야 한다. 없이 받으면 클라이언트가 읽고 고치는 사이의 다른 수정을 덮어쓴다.
+     * 현재 ETag 는 돌려주지 않는다. 클라이언트는 이벤트를 다시 읽고 본 내용을 바탕으로 고친다.
+     */
+    private ResponseEntity preconditionRequired(Event event) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "event");
+        errors.reject("preconditionRequired", "If-Match is required. Fetch the event and retry with its ETag.");
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                .body(new ErrorsResource(errors, EventLinks.event(event.getId())));
+    }
+
+    /**
+     * If-Match 가 읽은 뒤에 바뀐 버전이다. 현재 ETag 를 돌려주므로 클라이언트는 다시 읽고 바꾼 내용을 새 ETag 로 다시 보낸다.
+     */
+    private ResponseEntity preconditionFailed(Event event) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "event");
+        errors.reject("staleVersion", "Event has been modified. Fetch it again and retry with the new ETag.");
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(EventETags.of(event.getVersion(), true))
+                .body(new ErrorsResource(errors, EventLinks.event(event.getId())));
+    }
+
+    /**
+     * 읽은 뒤 커밋하기 전에 다른 요청이 먼저 고친 경우다. 버전 조건이 맞지 않아 UPDATE 가 한 행도 바꾸지 못했다.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity concurrentUpdate(HttpServletRequest request) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "event");
+        errors.reject("concurrentUpdate", "Event was modified by another request. Fetch it again and retry with the new ETag.");
+        // JDBC 배치로 UPDATE 하면 예외에 엔티티 id 가 없으므로 경로에서 꺼낸다
+        Map<?, ?> pathVariables = (Map<?, ?>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables == null || pathVariables.get("id") == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorsResource(errors));
+        }
+        Integer id = Integer.valueOf((String) pathVariables.get("id"));
+        ResponseEntity.BodyBuilder conflict = ResponseEntity.status(HttpStatus.CONFLICT);
+        this.eventRepository.findVersionById(id)
+                .ifPresent(version -> conflict.eTag(EventETags.of(version.getVersion(), true)));
+        return conflict.body(new ErrorsResource(errors, EventLinks.event(id)));
+    }
+
+    // id 만 비교하므로 계정 엔티티를 읽지 않는다
+    private boolean isManager(Integer managerId, AccountPrincipal currentUser) {
+        return currentUser != null && managerId != null && currentUser.getId() == managerId;
+    }
 
-        return ResponseEntity.ok(eventResource);
+    // 매니저는 외래 키만 저장하면 되므로 계정을 읽지 않고 참조만 만든다
+    private Account reference(AccountPrincipal currentUser) {
+        return currentUser == null ? null : this.accountRepository.getOne(currentUser.getId());
     }
 
     private ResponseEntity badRequest(Errors errors) {
@@ -0,0 +1,36 @@
+package me.jaehong.restapi.events;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 키셋 페이징에 사용하는 불투명 커서. 클라이언트에는 이벤트 id를 인코딩한 문자열만 노출한다.
+ */
+public final class EventCursor {
+
+    private static final String PREFIX = "id:";
+
+    private EventCursor() {
+    }
+
+    public static String encode(Integer id) {
+        byte[] bytes = (PREFIX + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * @return 커서가 가리키는 id, 비어있는 커서면 {@code null}
+     * @throws IllegalArgumentException 커서 형식이 잘못된 경우
+     */
+    public static Integer decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (!decoded.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Wrong cursor: " + cursor);
+        }
+        return Integer.valueOf(decoded.substring(PREFIX.length()));
+    }
+}
@@ -0,0 +1,47 @@
+package me.jaehong.restapi.events;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 이벤트 응답의 ETag 와 Last-Modified 값을 만든다.
+ * 매니저에게는 update-event 링크가 더 붙으므로 같은 버전이라도 ETag 를 구분한다.
+ */
+public final class EventETags {
+
+    private EventETags() {
+    }
+
+    public static String of(Long version, boolean manager) {
+        return "\"" + version + (manager ? "-manager" : "") + "\"";
+    }
+
+    public static String of(Iterable<Event> events, long total, boolean authenticated) {
+        StringBuilder builder = new StringBuilder().append(total).append(authenticated);
+        events.forEach(e -> builder.append(',').append(e.getId()).append(':').append(e.getVersion()));
+        return "\"" + DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public static long lastModified(LocalDateTime lastModifiedDateTime) {
+        if (lastModifiedDateTime == null) {
+            return -1;
+        }
+        return lastModifiedDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * If-Match 가 없으면 조건이 없는 요청으로 보고 true. 조건을 꼭 받아야 하는 수정은 호출 전에 거른다
+     */
+    public static boolean matches(List<String> ifMatch, String eTag) {
+        if (ifMatch == null || ifMatch.isEmpty()) {
+            return true;
+        }
+        return ifMatch.stream()
+                .map(String::trim)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+    }
+}
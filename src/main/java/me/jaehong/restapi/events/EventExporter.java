@@ -0,0 +1,87 @@
+package me.jaehong.restapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import me.jaehong.restapi.common.AppProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * 모든 이벤트를 커서로 읽으면서 한 줄에 하나씩 바로 응답에 쓴다.
+ * 읽은 엔티티는 곧바로 영속성 컨텍스트에서 떼어내므로 힙 사용량이 행 수와 관계없이 일정하다.
+ * 내보내기마다 커넥션 하나를 오래 잡으므로 동시에 도는 수를 {@code my-app.event-export-concurrency} 로 제한한다.
+ */
+@Component
+public class EventExporter {
+
+    private final EventRepository eventRepository;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final AppProperties appProperties;
+
+    private final Semaphore permits;
+
+    public EventExporter(EventRepository eventRepository, EntityManager entityManager,
+                         ObjectMapper objectMapper, AppProperties appProperties) {
+        this.eventRepository = eventRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.appProperties = appProperties;
+        this.permits = new Semaphore(appProperties.getEventExportConcurrency());
+    }
+
+    /**
+     * 트랜잭션을 열기 전에 불러 자리를 잡는다. true 를 받았으면 끝난 뒤 {@link #release()} 를 부른다
+     */
+    boolean tryAcquire() {
+        return this.permits.tryAcquire();
+    }
+
+    void release() {
+        this.permits.release();
+    }
+
+    /**
+     * 응답 상태는 첫 줄을 쓸 때 이미 나가므로, 시간을 넘기면 예외 대신 마지막 줄에 오류를 쓰고 끝낸다.
+     * 클라이언트는 {@code error} 필드가 있는 줄로 내보내기가 잘렸음을 안다.
+     */
+    @Transactional(readOnly = true)
+    public void export(OutputStream out) throws IOException {
+        // 느린 클라이언트 때문에 커넥션을 무한정 잡고 있지 않도록 전체 시간을 제한한다
+        long deadline = System.nanoTime() + this.appProperties.getEventExportTimeout().toNanos();
+        ObjectWriter writer = this.objectMapper.writerFor(Event.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (Stream<Event> events = this.eventRepository.streamAllBy();
+             JsonGenerator generator = this.objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<Event> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                if (System.nanoTime() - deadline >= 0) {
+                    this.objectMapper.writeValue(generator, Map.of("error", "exportTimeout",
+                            "message", "Event export took longer than " + this.appProperties.getEventExportTimeout() + "."));
+                    generator.writeRaw('\n');
+                    return;
+                }
+
+                Event event = iterator.next();
+                writer.writeValue(generator, event);
+                generator.writeRaw('\n');
+                this.entityManager.detach(event);
+            }
+        }
+    }
+}
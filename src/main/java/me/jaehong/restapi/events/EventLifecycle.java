@@ -0,0 +1,142 @@
+package me.jaehong.restapi.events;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import me.jaehong.restapi.common.AppProperties;
+import me.jaehong.restapi.configs.JdbcLeaderLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 공개한 이벤트의 상태를 날짜에 맞춰 옮긴다. 대상 행은 묶음 단위 UPDATE 로 한꺼번에 바꾸고, 엔티티는 읽지 않는다.
+ * 늦은 상태부터 바꾸므로 스케줄러가 한동안 멈춰 있었어도 이벤트는 한 번에 지금 있어야 할 상태로 간다.
+ * 여러 인스턴스 중 {@link JdbcLeaderLock} 을 가진 하나만 돈다. 임대는 묶음마다 연장하고, 잃으면 남은 묶음은 새 리더에게 넘긴다.
+ */
+@Component
+public class EventLifecycle {
+
+    static final String LOCK_NAME = "event-lifecycle";
+
+    private static final Logger log = LoggerFactory.getLogger(EventLifecycle.class);
+
+    /**
+     * 다음 상태와 그 상태가 되는 기준 시각. 늦은 상태부터 둔다
+     */
+    private static final Map<EventStatus, String> TRANSITIONS = new LinkedHashMap<>();
+
+    static {
+        TRANSITIONS.put(EventStatus.ENDED, Event_.END_EVENT_DATE_TIME);
+        TRANSITIONS.put(EventStatus.STARTED, Event_.BEGIN_EVENT_DATE_TIME);
+        TRANSITIONS.put(EventStatus.CLOSED_ENROLLMENT, Event_.CLOSE_ENROLLMENT_DATE_TIME);
+        TRANSITIONS.put(EventStatus.BEGAN_ENROLLMENT, Event_.BEGIN_ENROLLMENT_DATE_TIME);
+    }
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final JdbcLeaderLock leaderLock;
+
+    private final AppProperties appProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    public EventLifecycle(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                          JdbcLeaderLock leaderLock, AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaderLock = leaderLock;
+        this.appProperties = appProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // 기동 직후에는 돌지 않는다. 새 인스턴스는 대개 리더가 아니고, 기동 시간만 늘어난다
+    @Scheduled(initialDelayString = "#{@appProperties.eventLifecycleInterval.toMillis()}",
+            fixedDelayString = "#{@appProperties.eventLifecycleInterval.toMillis()}")
+    public void scheduledAdvance() {
+        Map<EventStatus, Integer> transitions = advance(LocalDateTime.now());
+        if (!transitions.isEmpty()) {
+            log.info("Advanced events {}", transitions);
+        }
+    }
+
+    /**
+     * 전이마다 인덱스로 대상 id 를 {@code my-app.event-lifecycle-batch-size} 개씩 찾아 UPDATE 하고, 묶음마다 커밋한다.
+     * 밀린 행이 많아도 트랜잭션과 행 잠금이 한 묶음 크기를 넘지 않는다.
+     * 묶음마다 먼저 임대를 연장하므로 실행이 임대 기간보다 길어져도 두 인스턴스가 함께 돌지 않는다.
+     *
+     * @return 상태를 바꾼 이벤트 수, 바뀐 상태별. 임대를 잃으면 그때까지 바꾼 수
+     */
+    public Map<EventStatus, Integer> advance(LocalDateTime now) {
+        Map<EventStatus, Integer> transitions = new EnumMap<>(EventStatus.class);
+        for (Map.Entry<EventStatus, String> transition : TRANSITIONS.entrySet()) {
+            EventStatus status = transition.getKey();
+            int total = 0;
+            int count;
+            boolean leader;
+            do {
+                leader = this.leaderLock.tryAcquire(LOCK_NAME, this.appProperties.getEventLifecycleLease());
+                count = leader ? this.transactionTemplate.execute(
+                        transaction -> advanceBatch(status, transition.getValue(), now)) : 0;
+                total += count;
+            } while (count > 0);
+            if (total > 0) {
+                transitions.put(status, total);
+                this.meterRegistry.counter("event.lifecycle.transitions", "status", status.name()).increment(total);
+            }
+            if (!leader) {
+                if (!transitions.isEmpty()) {
+                    log.warn("Lost leader lock {} after advancing events {}", LOCK_NAME, transitions);
+                }
+                break;
+            }
+        }
+        return transitions;
+    }
+
+    /**
+     * 벌크 UPDATE 는 영속성 컨텍스트를 거치지 않으므로 버전과 수정 시각을 직접 올린다.
+     * 하이버네이트는 벌크 UPDATE 를 실행하면서 이벤트 2차 캐시와 쿼리 캐시를 비운다.
+     * 바꾼 행은 조건에서 빠지므로 같은 조회를 다시 하면 다음 묶음이 나온다.
+     */
+    private int advanceBatch(EventStatus status, String dateTime, LocalDateTime now) {
+        Set<EventStatus> previous = previous(status);
+        List<Integer> ids = this.entityManager.createQuery("select e.id from Event e " +
+                "where e.eventStatus in :previous and e." + dateTime + " <= :now", Integer.class)
+                .setParameter("previous", previous)
+                .setParameter("now", now)
+                .setMaxResults(this.appProperties.getEventLifecycleBatchSize())
+                .getResultList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // 조회한 뒤에 다른 요청이 상태를 바꿨을 수 있으므로 조건을 다시 건다
+        return this.entityManager.createQuery("update Event e " +
+                "set e.eventStatus = :status, e.version = e.version + 1, e.lastModifiedDateTime = :now " +
+                "where e.id in :ids and e.eventStatus in :previous and e." + dateTime + " <= :now")
+                .setParameter("status", status)
+                .setParameter("ids", ids)
+                .setParameter("previous", previous)
+                .setParameter("now", now)
+                .executeUpdate();
+    }
+
+    /**
+     * @return PUBLISHED 부터 {@code status} 바로 앞까지의 상태
+     */
+    private static Set<EventStatus> previous(EventStatus status) {
+        return EnumSet.range(EventStatus.PUBLISHED, EventStatus.values()[status.ordinal() - 1]);
+    }
+}
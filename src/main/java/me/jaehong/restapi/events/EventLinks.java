@@ -0,0 +1,90 @@
+package me.jaehong.restapi.events;
+
+import me.jaehong.restapi.common.BaseUri;
+import org.springframework.hateoas.Link;
+
+/**
+ * 이벤트 리소스의 링크를 만든다. ControllerLinkBuilder 처럼 매번 매핑 애노테이션과 요청을 다시 읽지 않고
+ * 미리 정해둔 경로에 요청별 base URI 만 붙인다.
+ */
+public final class EventLinks {
+
+    private static final Link PROFILE_CREATE = profile("resources-events-create");
+    private static final Link PROFILE_BATCH = profile("resources-events-batch");
+    private static final Link PROFILE_LIST = profile("resources-events-list");
+    private static final Link PROFILE_GET = profile("resources-events-get");
+    private static final Link PROFILE_UPDATE = profile("resources-events-update");
+    private static final Link PROFILE_PATCH = profile("resources-events-patch");
+    private static final Link PROFILE_PUBLISH = profile("resources-events-publish");
+
+    private EventLinks() {
+    }
+
+    public static String eventsHref() {
+        return BaseUri.current() + EventController.PATH;
+    }
+
+    public static String eventHref(Integer id) {
+        return eventsHref() + "/" + id;
+    }
+
+    public static Link self(Integer id) {
+        return new Link(eventHref(id));
+    }
+
+    public static Link event(Integer id) {
+        return new Link(eventHref(id), "event");
+    }
+
+    public static Link updateEvent(Integer id) {
+        return new Link(eventHref(id), "update-event");
+    }
+
+    public static Link publishEvent(Integer id) {
+        return new Link(eventHref(id) + "/publish", "publish-event");
+    }
+
+    public static Link queryEvents() {
+        return new Link(eventsHref(), "query-events");
+    }
+
+    public static Link createEvent() {
+        return new Link(eventsHref(), "create-event");
+    }
+
+    public static Link events() {
+        return new Link(eventsHref(), "events");
+    }
+
+    public static Link createProfile() {
+        return PROFILE_CREATE;
+    }
+
+    public static Link batchProfile() {
+        return PROFILE_BATCH;
+    }
+
+    public static Link listProfile() {
+        return PROFILE_LIST;
+    }
+
+    public static Link getProfile() {
+        return PROFILE_GET;
+    }
+
+    public static Link updateProfile() {
+        return PROFILE_UPDATE;
+    }
+
+    public static Link patchProfile() {
+        return PROFILE_PATCH;
+    }
+
+    public static Link publishProfile() {
+        return PROFILE_PUBLISH;
+    }
+
+    private static Link profile(String section) {
+        return new Link("/docs/index.html#" + section, "profile");
+    }
+}
@@ -0,0 +1,110 @@
+package me.jaehong.restapi.events;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import me.jaehong.restapi.common.AppProperties;
+import me.jaehong.restapi.configs.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.function.Supplier;
+
+/**
+ * 이벤트 조회를 읽기 전용 트랜잭션 안에서 실행한다.
+ * {@code ASYNC} 모드에서는 DB 커넥션 수에 맞춘 전용 풀에서 실행하고 톰캣 스레드는 바로 돌려주므로,
+ * 동시 연결이 많아도 DB 를 기다리는 요청이 톰캣 스레드를 붙잡지 않는다. 풀의 대기열까지 차면 요청을 거절한다.
+ */
+@Component
+public class EventQueryExecutor implements DisposableBean {
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ThreadPoolTaskExecutor executor;
+
+    public EventQueryExecutor(PlatformTransactionManager transactionManager, AppProperties appProperties) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        // 실행기는 빈으로 노출하지 않는다. Executor 빈이 생기면 스프링 부트가 기본 태스크 실행기를 만들지 않는다
+        if (appProperties.getEventQueryMode() == AppProperties.QueryMode.ASYNC) {
+            this.executor = new ThreadPoolTaskExecutor();
+            this.executor.setCorePoolSize(appProperties.getEventQueryThreads());
+            this.executor.setMaxPoolSize(appProperties.getEventQueryThreads());
+            this.executor.setQueueCapacity(appProperties.getEventQueryQueueCapacity());
+            this.executor.setThreadNamePrefix("event-query-");
+            this.executor.initialize();
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * 풀에는 직접 넣는다. WebAsyncTask 로 넘기면 거절된 예외를 비동기 디스패치와 요청 스레드가 모두 처리해 핸들러가 두 번 돈다.
+     *
+     * @return {@code BLOCKING} 모드면 조회 결과, {@code ASYNC} 모드면 결과를 돌려줄 {@link DeferredResult},
+     * 풀이 가득 찼으면 {@code 503} 응답
+     */
+    public Object execute(Supplier<ResponseEntity> query) {
+        if (this.executor == null) {
+            return this.readOnlyTransaction.execute(status -> query.get());
+        }
+
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        boolean pinnedToPrimary = ReplicaRoutingDataSource.isPinnedToPrimary();
+        DeferredResult<ResponseEntity> result = new DeferredResult<>();
+        try {
+            this.executor.execute(() -> {
+                // 요청 스레드의 속성 객체는 첫 디스패치가 끝나면 닫히므로 새로 만든다
+                RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(attributes.getRequest(), attributes.getResponse()));
+                if (pinnedToPrimary) {
+                    ReplicaRoutingDataSource.pinToPrimary();
+                }
+                try {
+                    ResponseEntity response = this.readOnlyTransaction.execute(status -> query.get());
+                    // 304 는 조회 중에 응답에 써 두었다. 비동기 디스패치에서는 null 을 그렇게 해석하지 않으므로 상태를 다시 알려준다
+                    result.setResult(response != null ? response : ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+                } catch (Throwable e) {
+                    result.setErrorResult(e);
+                } finally {
+                    ReplicaRoutingDataSource.unpin();
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            return overloaded();
+        }
+        return result;
+    }
+
+    /**
+     * 조회 풀의 대기열까지 찬 경우다. 잠시 뒤에 다시 시도하게 한다.
+     */
+    private static ResponseEntity overloaded() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+
+    public void bindMetrics(MeterRegistry registry) {
+        if (this.executor != null) {
+            ExecutorServiceMetrics.monitor(registry, this.executor.getThreadPoolExecutor(), "eventQueries");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (this.executor != null) {
+            this.executor.shutdown();
+        }
+    }
+}
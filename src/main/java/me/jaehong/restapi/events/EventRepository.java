@@ -1,6 +1,49 @@
 package me.jaehong.restapi.events;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.lang.Nullable;
 
-public interface EventRepository extends JpaRepository<Event, Integer> {
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpecificationExecutor<Event>, EventSliceRepository {
+
+    @Override
+    @EntityGraph(attributePaths = "manager")
+    Optional<Event> findById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "manager")
+    Page<Event> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "manager")
+    Page<Event> findAll(@Nullable Specification<Event> spec, Pageable pageable);
+
+    @EntityGraph(attributePaths = "manager")
+    List<Event> findByIdIn(Collection<Integer> ids);
+
+    @Query("select e.version as version, e.lastModifiedDateTime as lastModifiedDateTime, e.manager.id as managerId " +
+            "from Event e where e.id = :id")
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    Optional<EventVersion> findVersionById(@Param("id") Integer id);
+
+    @Query("select e from Event e left join fetch e.manager order by e.id")
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheMode", value = "IGNORE")
+    })
+    Stream<Event> streamAllBy();
 }
@@ -0,0 +1,153 @@
+package me.jaehong.restapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import me.jaehong.restapi.common.AppProperties;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.core.EmbeddedWrapper;
+import org.springframework.hateoas.core.EmbeddedWrappers;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 이벤트 본문을 직렬화한 UTF-8 바이트를 id 와 버전으로 캐시한다. 응답을 쓸 때는 캐시한 바이트를 그대로 복사하고
+ * 요청마다 달라지는 {@code _links} 만 뒤에 붙인다. 캐시한 바이트에는 링크를 붙일 수 있도록 마지막 {@code '}'} 를 뺀다.
+ */
+@Component
+public class EventRepresentationCache {
+
+    private static final String EMBEDDED_REL = "eventList";
+
+    private static final EmbeddedWrappers EMBEDDED_WRAPPERS = new EmbeddedWrappers(true);
+
+    private final ObjectWriter eventWriter;
+
+    private final Cache<Integer, Representation> representations;
+
+    public EventRepresentationCache(ObjectMapper objectMapper, AppProperties appProperties) {
+        this.eventWriter = objectMapper.writerFor(Event.class);
+        this.representations = Caffeine.newBuilder()
+                .maximumSize(appProperties.getCacheMaximumSize())
+                .expireAfterAccess(appProperties.getCacheTimeToLive())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return {@link EventResource} 와 같은 HAL 본문을 쓰는 값. 링크는 순서대로 {@code _links} 에 들어간다
+     */
+    public EventJson toJson(Event event, Link... links) {
+        return new EventJson(content(event), links);
+    }
+
+    /**
+     * @return 페이지 응답의 {@code _embedded.eventList} 에 넣을 값. 이벤트마다 self 링크만 붙인다
+     */
+    public List<EmbeddedWrapper> embedded(List<Event> events) {
+        if (events.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<EventJson> content = new ArrayList<>(events.size());
+        for (Event event : events) {
+            content.add(toJson(event, EventLinks.self(event.getId())));
+        }
+        return Collections.singletonList(EMBEDDED_WRAPPERS.wrap(content, EMBEDDED_REL));
+    }
+
+    public void evict(Integer id) {
+        this.representations.invalidate(id);
+    }
+
+    public Cache<Integer, ?> getRepresentations() {
+        return representations;
+    }
+
+    private SerializableString content(Event event) {
+        Representation representation = this.representations.getIfPresent(event.getId());
+        if (representation == null || !Objects.equals(representation.version, event.getVersion())) {
+            representation = new Representation(event.getVersion(), serialize(event));
+            this.representations.put(event.getId(), representation);
+        }
+        return representation.content;
+    }
+
+    private SerializableString serialize(Event event) {
+        try {
+            String json = this.eventWriter.writeValueAsString(event);
+            SerializedString content = new SerializedString(json.substring(0, json.lastIndexOf('}')));
+            // UTF-8 바이트를 미리 만들어 두어 응답마다 다시 인코딩하지 않는다
+            content.asUnquotedUTF8();
+            return content;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Representation {
+
+        private final Long version;
+
+        private final SerializableString content;
+
+        private Representation(Long version, SerializableString content) {
+            this.version = version;
+            this.content = content;
+        }
+    }
+
+    /**
+     * 캐시한 이벤트 본문 뒤에 HAL {@code _links} 를 붙여 쓴다.
+     */
+    public static final class EventJson implements JsonSerializable {
+
+        private final SerializableString content;
+
+        private final String links;
+
+        private EventJson(SerializableString content, Link... links) {
+            this.content = content;
+            this.links = halLinks(links);
+        }
+
+        @Override
+        public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeRawValue(this.content);
+            gen.writeRaw(this.links);
+        }
+
+        @Override
+        public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+            serialize(gen, serializers);
+        }
+
+        private static String halLinks(Link... links) {
+            JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+            StringBuilder builder = new StringBuilder(",\"_links\":{");
+            for (int i = 0; i < links.length; i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                builder.append('"').append(encoder.quoteAsString(links[i].getRel()))
+                        .append("\":{\"href\":\"").append(encoder.quoteAsString(links[i].getHref()))
+                        .append("\"}");
+            }
+            return builder.append("}}").toString();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package me.jaehong.restapi.events;
+
+/**
+ * EventValidator 가 검사하는 규칙. 어긴 규칙마다 필드 하나, 필드가 없으면 전역 오류 하나로 거절한다.
+ * 어긴 규칙은 순서(ordinal) 자리의 비트로 모은다.
+ */
+enum EventRule {
+
+    BASE_PRICE("basePrice", "wrongValue", "BasePrice is Wrong."),
+    MAX_PRICE("maxPrice", "wrongValue", "MaxPrice is Wrong."),
+    PRICES(null, "wrongPrices", "Values for prices are wrong"),
+    BEGIN_ENROLLMENT_DATE_TIME("beginEnrollmentDateTime", "wrongValue", "BeginEnrollmentDateTime is Wrong."),
+    CLOSE_ENROLLMENT_DATE_TIME("closeEnrollmentDateTime", "wrongValue", "CloseEnrollmentDateTime is Wrong."),
+    BEGIN_EVENT_DATE_TIME("beginEventDateTime", "wrongValue", "BeginEventDateTime is Wrong."),
+    END_EVENT_DATE_TIME("endEventDateTime", "wrongValue", "EndEventDateTime is Wrong.");
+
+    /**
+     * 날짜는 이 순서로 놓여야 한다. 같은 시각은 허용한다
+     */
+    static final EventRule[] DATE_ORDER = {
+            BEGIN_ENROLLMENT_DATE_TIME, CLOSE_ENROLLMENT_DATE_TIME, BEGIN_EVENT_DATE_TIME, END_EVENT_DATE_TIME
+    };
+
+    private static final EventRule[] VALUES = values();
+
+    private final String field;
+
+    private final String code;
+
+    private final String defaultMessage;
+
+    EventRule(String field, String code, String defaultMessage) {
+        this.field = field;
+        this.code = code;
+        this.defaultMessage = defaultMessage;
+    }
+
+    int bit() {
+        return 1 << ordinal();
+    }
+
+    boolean in(int violations) {
+        return (violations & bit()) != 0;
+    }
+
+    String getField() {
+        return field;
+    }
+
+    String getCode() {
+        return code;
+    }
+
+    String getDefaultMessage() {
+        return defaultMessage;
+    }
+
+    static EventRule[] all() {
+        return VALUES;
+    }
+}
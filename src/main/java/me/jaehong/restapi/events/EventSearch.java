@@ -0,0 +1,51 @@
+package me.jaehong.restapi.events;
+
+import lombok.Data;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * 이벤트 목록 조회 조건. 값이 없는 항목은 조건에서 빠지고, 범위는 양 끝을 포함한다.
+ */
+@Data
+public class EventSearch {
+
+    /**
+     * 정렬을 허용하는 필드. 인덱스가 있는 컬럼만 열어 두어 정렬이 전체 테이블 정렬로 번지지 않게 한다.
+     */
+    public static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "beginEnrollmentDateTime", "beginEventDateTime");
+
+    private EventStatus eventStatus;
+    private Boolean free;
+    private Boolean offline;
+    private Integer managerId;
+
+    private Integer basePriceFrom;
+    private Integer basePriceTo;
+    private Integer maxPriceFrom;
+    private Integer maxPriceTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEnrollmentFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEnrollmentTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime closeEnrollmentFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime closeEnrollmentTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEventFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEventTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime endEventFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime endEventTo;
+
+    public static boolean isSortable(Sort sort) {
+        return sort.stream().map(Sort.Order::getProperty).allMatch(SORTABLE_PROPERTIES::contains);
+    }
+}
@@ -0,0 +1,13 @@
+package me.jaehong.restapi.events;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface EventSliceRepository {
+
+    /**
+     * 전체 개수를 세지 않고 다음 페이지 유무만 알려주는 조회. 매니저를 함께 가져온다.
+     */
+    Slice<Event> findSlice(Specification<Event> spec, Pageable pageable);
+}
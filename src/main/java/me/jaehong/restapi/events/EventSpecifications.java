@@ -0,0 +1,63 @@
+package me.jaehong.restapi.events;
+
+import me.jaehong.restapi.accounts.Account_;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link EventSearch} 를 JPA Criteria 조건으로 옮긴다. 필드는 메타모델({@link Event_})로 참조한다.
+ */
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    public static Specification<Event> of(EventSearch search) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (search.getEventStatus() != null) {
+                predicates.add(cb.equal(root.get(Event_.eventStatus), search.getEventStatus()));
+            }
+            if (search.getFree() != null) {
+                predicates.add(cb.equal(root.get(Event_.free), search.getFree()));
+            }
+            if (search.getOffline() != null) {
+                predicates.add(cb.equal(root.get(Event_.offline), search.getOffline()));
+            }
+            if (search.getManagerId() != null) {
+                // manager_id 컬럼만 비교하므로 account 조인이 생기지 않는다
+                predicates.add(cb.equal(root.get(Event_.manager).get(Account_.id), search.getManagerId()));
+            }
+            between(cb, predicates, root.get(Event_.basePrice), search.getBasePriceFrom(), search.getBasePriceTo());
+            between(cb, predicates, root.get(Event_.maxPrice), search.getMaxPriceFrom(), search.getMaxPriceTo());
+            between(cb, predicates, root.get(Event_.beginEnrollmentDateTime), search.getBeginEnrollmentFrom(), search.getBeginEnrollmentTo());
+            between(cb, predicates, root.get(Event_.closeEnrollmentDateTime), search.getCloseEnrollmentFrom(), search.getCloseEnrollmentTo());
+            between(cb, predicates, root.get(Event_.beginEventDateTime), search.getBeginEventFrom(), search.getBeginEventTo());
+            between(cb, predicates, root.get(Event_.endEventDateTime), search.getEndEventFrom(), search.getEndEventTo());
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Event> idGreaterThan(Integer id) {
+        return (root, query, cb) -> cb.greaterThan(root.get(Event_.id), id);
+    }
+
+    public static Specification<Event> idLessThan(Integer id) {
+        return (root, query, cb) -> cb.lessThan(root.get(Event_.id), id);
+    }
+
+    private static <Y extends Comparable<? super Y>> void between(CriteriaBuilder cb, List<Predicate> predicates,
+                                                                  Expression<Y> path, Y from, Y to) {
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(path, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThanOrEqualTo(path, to));
+        }
+    }
+}
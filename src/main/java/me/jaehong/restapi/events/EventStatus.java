@@ -1,6 +1,9 @@
 package me.jaehong.restapi.events;
 
+/**
+ * 공개(DRAFT 에서 PUBLISHED)는 자동으로 하지 않는다. 공개한 이벤트는 {@link EventLifecycle} 이 날짜에 맞춰 선언한 순서대로만 옮긴다.
+ */
 public enum EventStatus {
 
-    DRAFT, PUBLISHED, BEGAN_ENROLLMENT;
+    DRAFT, PUBLISHED, BEGAN_ENROLLMENT, CLOSED_ENROLLMENT, STARTED, ENDED;
 }
@@ -0,0 +1,95 @@
+package me.jaehong.restapi.events;
+
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 이벤트 이름, 설명, 장소에 대한 전문 검색. 결과는 관련도 순이고 같은 관련도면 id 순이다.
+ * PostgreSQL 에서는 트리거가 유지하는 tsvector 컬럼과 GIN 인덱스를, 테스트용 H2 에서는 내장 전문 검색 인덱스를 쓴다.
+ * 인덱스는 db/vendor 아래 마이그레이션이 만든다.
+ */
+@Component
+public class EventTextSearch {
+
+    private static final String POSTGRESQL_IDS = "select e.id from event e, plainto_tsquery('simple', :query) q " +
+            "where e.search_vector @@ q order by ts_rank(e.search_vector, q) desc, e.id limit :limit offset :offset";
+
+    private static final String POSTGRESQL_COUNT = "select count(*) from event e " +
+            "where e.search_vector @@ plainto_tsquery('simple', :query)";
+
+    // H2 내장 인덱스는 점수가 모두 같으므로 사실상 id 순이다
+    private static final String H2_IDS = "select cast(array_get(ft.keys, 1) as int) id from ft_search_data(:query, 0, 0) ft " +
+            "where ft.\"TABLE\" = 'EVENT' order by ft.score desc, id limit :limit offset :offset";
+
+    private static final String H2_COUNT = "select count(*) from ft_search_data(:query, 0, 0) ft where ft.\"TABLE\" = 'EVENT'";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final EventRepository eventRepository;
+
+    private final String idsQuery;
+
+    private final String countQuery;
+
+    public EventTextSearch(NamedParameterJdbcTemplate jdbcTemplate, EventRepository eventRepository,
+                           DataSource dataSource) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventRepository = eventRepository;
+
+        String url = (String) JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getURL);
+        DatabaseDriver driver = DatabaseDriver.fromJdbcUrl(url);
+        if (driver == DatabaseDriver.POSTGRESQL) {
+            this.idsQuery = POSTGRESQL_IDS;
+            this.countQuery = POSTGRESQL_COUNT;
+        } else if (driver == DatabaseDriver.H2) {
+            this.idsQuery = H2_IDS;
+            this.countQuery = H2_COUNT;
+        } else {
+            throw new IllegalStateException("Full-text search is not supported on " + driver);
+        }
+    }
+
+    public Page<Event> search(String query, Pageable pageable) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+        List<Integer> ids = this.jdbcTemplate.queryForList(this.idsQuery, parameters, Integer.class);
+        if (ids.isEmpty() && pageable.getOffset() == 0) {
+            return Page.empty(pageable);
+        }
+
+        // 관련도 순서를 지키도록 id 순서대로 다시 늘어놓는다
+        Map<Integer, Integer> ranks = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            ranks.put(ids.get(i), i);
+        }
+        List<Event> events = this.eventRepository.findByIdIn(ids);
+        events.sort(Comparator.comparing(event -> ranks.get(event.getId())));
+
+        return new PageImpl<>(events, pageable, count(query, pageable, ids.size()));
+    }
+
+    private long count(String query, Pageable pageable, int pageSize) {
+        // 첫 페이지에서 다 채우지 못했으면 세지 않아도 전체 개수를 안다
+        if (pageable.getOffset() == 0 && pageSize < pageable.getPageSize()) {
+            return pageSize;
+        }
+        Long total = this.jdbcTemplate.queryForObject(this.countQuery, Map.of("query", query), Long.class);
+        return total == null ? 0 : total;
+    }
+}
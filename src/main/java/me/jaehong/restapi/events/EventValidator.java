@@ -1,41 +1,141 @@
 package me.jaehong.restapi.events;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.Errors;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+/**
+ * {@link EventRule} 을 검사한다. 날짜는 한 번씩만 읽어 초와 나노초 값으로 바꿔 두고, 규칙은 그 값만으로 한 번에 돈다.
+ * 날짜가 비어 있으면 그 날짜가 걸린 규칙은 건너뛴다. 빈 값은 {@code @NotNull} 이 거절한다.
+ */
 @Component
 public class EventValidator {
 
+    private static final int DATES = EventRule.DATE_ORDER.length;
+
+    // 나노초 자리에 넣어 빈 날짜를 표시한다
+    private static final int MISSING = -1;
+
+    private final MeterRegistry meterRegistry;
+
+    public EventValidator(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     public void validate(EventDto eventDto, Errors errors) {
-        if (eventDto.getBasePrice() > eventDto.getMaxPrice() && eventDto.getMaxPrice() > 0) {
-            errors.rejectValue("basePrice", "wrongValue", "BasePrice is Wrong.");
-            errors.rejectValue("maxPrice", "wrongValue", "MaxPrice is Wrong.");
-            errors.reject("wrongPrices", "Values for prices are wrong");
+        report(violations(eventDto), errors);
+    }
+
+    /**
+     * 여러 이벤트를 한 번에 검사한다. 모든 날짜를 먼저 한 배열로 바꿔 두고 규칙을 돈다.
+     * 항목마다 어긴 규칙을 모두 같은 순서의 Errors 에 넣는다.
+     */
+    public void validateAll(List<EventDto> eventDtos, List<? extends Errors> errors) {
+        int size = eventDtos.size();
+        long[] seconds = new long[size * DATES];
+        int[] nanos = new int[size * DATES];
+        for (int i = 0; i < size; i++) {
+            toEpoch(eventDtos.get(i), seconds, nanos, i * DATES);
         }
+        for (int i = 0; i < size; i++) {
+            EventDto eventDto = eventDtos.get(i);
+            report(priceViolations(eventDto.getBasePrice(), eventDto.getMaxPrice())
+                    | dateViolations(seconds, nanos, i * DATES), errors.get(i));
+        }
+    }
+
+    /**
+     * @return 어긴 규칙의 비트. {@link EventRule#in(int)} 로 확인한다
+     */
+    static int violations(EventDto eventDto) {
+        long[] seconds = new long[DATES];
+        int[] nanos = new int[DATES];
+        toEpoch(eventDto, seconds, nanos, 0);
+        return priceViolations(eventDto.getBasePrice(), eventDto.getMaxPrice()) | dateViolations(seconds, nanos, 0);
+    }
 
-        LocalDateTime endEventDateTime = eventDto.getEndEventDateTime();
-        if (endEventDateTime.isBefore(eventDto.getEndEventDateTime()) ||
-        endEventDateTime.isBefore(eventDto.getCloseEnrollmentDateTime()) ||
-        endEventDateTime.isBefore(eventDto.getBeginEnrollmentDateTime())) {
-            errors.rejectValue("endEventDateTime", "wrongValue", "EndEventDateTime is Wrong.");
+    private static int priceViolations(int basePrice, int maxPrice) {
+        // 최고가가 0 이면 무제한 경매다
+        if (basePrice > maxPrice && maxPrice > 0) {
+            return EventRule.BASE_PRICE.bit() | EventRule.MAX_PRICE.bit() | EventRule.PRICES.bit();
         }
+        return 0;
+    }
 
-        // TODO beginEventDateTime
-        LocalDateTime beginEventDateTime = eventDto.getBeginEventDateTime();
-        if (beginEventDateTime.isAfter(eventDto.getEndEventDateTime()) ||
-                beginEventDateTime.isBefore(eventDto.getCloseEnrollmentDateTime()) ||
-                beginEventDateTime.isBefore(eventDto.getBeginEnrollmentDateTime())) {
-            errors.rejectValue("beginEventDateTime", "wrongValue", "BeginEventDateTime is Wrong.");
+    /**
+     * 앞서야 할 날짜가 뒤의 날짜보다 늦으면 두 날짜를 모두 거절한다.
+     */
+    private static int dateViolations(long[] seconds, int[] nanos, int offset) {
+        int violations = 0;
+        for (int i = 0; i < DATES; i++) {
+            int earlier = offset + i;
+            if (nanos[earlier] == MISSING) {
+                continue;
+            }
+            for (int j = i + 1; j < DATES; j++) {
+                int later = offset + j;
+                if (nanos[later] != MISSING && (seconds[earlier] > seconds[later]
+                        || seconds[earlier] == seconds[later] && nanos[earlier] > nanos[later])) {
+                    violations |= EventRule.DATE_ORDER[i].bit() | EventRule.DATE_ORDER[j].bit();
+                }
+            }
         }
-        // TODO closeEnrollmentDateTime
-        LocalDateTime closeEnrollmentDateTime = eventDto.getCloseEnrollmentDateTime();
-        if (closeEnrollmentDateTime.isBefore(eventDto.getBeginEnrollmentDateTime()) ||
-                closeEnrollmentDateTime.isAfter(eventDto.getBeginEventDateTime()) ||
-                closeEnrollmentDateTime.isAfter(eventDto.getEndEventDateTime())) {
-            errors.rejectValue("closeEnrollmentDateTime", "wrongValue", "CloseEnrollmentDateTime is Wrong.");
+        return violations;
+    }
+
+    // EventRule.DATE_ORDER 순서로 넣는다
+    private static void toEpoch(EventDto eventDto, long[] seconds, int[] nanos, int offset) {
+        toEpoch(eventDto.getBeginEnrollmentDateTime(), seconds, nanos, offset);
+        toEpoch(eventDto.getCloseEnrollmentDateTime(), seconds, nanos, offset + 1);
+        toEpoch(eventDto.getBeginEventDateTime(), seconds, nanos, offset + 2);
+        toEpoch(eventDto.getEndEventDateTime(), seconds, nanos, offset + 3);
+    }
+
+    /**
+     * 순서만 비교하므로 epoch 초 대신 연, 월, 일, 하루 중의 초를 자리마다 이어 붙인 값을 쓴다. 나눗셈 없이 순서가 같다.
+     * 연도가 LocalDateTime 의 최대값이어도 long 을 넘지 않는다.
+     */
+    private static void toEpoch(LocalDateTime dateTime, long[] seconds, int[] nanos, int index) {
+        if (dateTime == null) {
+            nanos[index] = MISSING;
+            return;
+        }
+        long days = (dateTime.getYear() * 16L + dateTime.getMonthValue()) * 32 + dateTime.getDayOfMonth();
+        seconds[index] = days * 86400 + dateTime.getHour() * 3600 + dateTime.getMinute() * 60 + dateTime.getSecond();
+        nanos[index] = dateTime.getNano();
+    }
+
+    private void report(int violations, Errors errors) {
+        if (violations == 0) {
+            return;
         }
+        for (EventRule rule : EventRule.all()) {
+            if (!rule.in(violations)) {
+                continue;
+            }
+            if (rule.getField() == null) {
+                reject(errors, rule.getCode(), rule.getDefaultMessage());
+            } else {
+                rejectValue(errors, rule.getField(), rule.getCode(), rule.getDefaultMessage());
+            }
+        }
+    }
+
+    private void rejectValue(Errors errors, String field, String errorCode, String defaultMessage) {
+        errors.rejectValue(field, errorCode, defaultMessage);
+        countRejection(field, errorCode);
+    }
+
+    private void reject(Errors errors, String errorCode, String defaultMessage) {
+        errors.reject(errorCode, defaultMessage);
+        countRejection("global", errorCode);
+    }
 
+    // 거절되는 경우에만 호출되므로 정상 경로에는 카운터 조회 비용이 없다
+    private void countRejection(String field, String errorCode) {
+        meterRegistry.counter("event.validation.rejections", "field", field, "code", errorCode).increment();
     }
 }
@@ -0,0 +1,12 @@
+package me.jaehong.restapi.events;
+
+import java.time.LocalDateTime;
+
+public interface EventVersion {
+
+    Long getVersion();
+
+    LocalDateTime getLastModifiedDateTime();
+
+    Integer getManagerId();
+}
@@ -1,19 +1,19 @@
 package me.jaehong.restapi.index;
 
-import me.jaehong.restapi.events.EventController;
+import me.jaehong.restapi.events.EventLinks;
 import org.springframework.hateoas.ResourceSupport;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
-
 @RestController
 public class IndexController {
 
-    @GetMapping("/api")
+    public static final String PATH = "/api";
+
+    @GetMapping(PATH)
     public ResourceSupport index() {
         var index = new ResourceSupport();
-        index.add(linkTo(EventController.class).withRel("events"));
+        index.add(EventLinks.events());
         return index;
     }
 }
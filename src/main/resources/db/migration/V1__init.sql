@@ -0,0 +1,47 @@
+create sequence hibernate_sequence start with 1 increment by 1;
+create sequence event_seq start with 1 increment by 50;
+
+create table account (
+    id       integer not null,
+    email    varchar(255),
+    password varchar(255),
+    constraint account_pk primary key (id),
+    -- findByEmail 은 이 유니크 인덱스로 찾는다
+    constraint account_email_uk unique (email)
+);
+
+create table account_roles (
+    account_id integer      not null,
+    roles      varchar(255) not null,
+    constraint account_roles_pk primary key (account_id, roles),
+    constraint account_roles_account_fk foreign key (account_id) references account (id)
+);
+
+create table event (
+    id                          integer      not null,
+    name                        varchar(255),
+    description                 varchar(255),
+    begin_enrollment_date_time  timestamp,
+    close_enrollment_date_time  timestamp,
+    begin_event_date_time       timestamp,
+    end_event_date_time         timestamp,
+    location                    varchar(255),
+    base_price                  integer      not null,
+    max_price                   integer      not null,
+    limit_of_enrollment         integer      not null,
+    offline                     boolean      not null,
+    free                        boolean      not null,
+    event_status                varchar(255),
+    manager_id                  integer,
+    version                     bigint,
+    last_modified_date_time     timestamp,
+    constraint event_pk primary key (id),
+    constraint event_manager_fk foreign key (manager_id) references account (id)
+);
+
+-- 매니저별 조회와 계정 삭제 시 외래 키 검사
+create index event_manager_id_idx on event (manager_id);
+-- 상태로 거르고 시작 시각으로 정렬하는 목록 조회
+create index event_event_status_begin_event_date_time_idx on event (event_status, begin_event_date_time);
+-- 상태 조건 없이 시작 시각으로 정렬하거나 범위로 거르는 조회
+create index event_begin_event_date_time_idx on event (begin_event_date_time);
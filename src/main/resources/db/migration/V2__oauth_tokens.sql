@@ -0,0 +1,24 @@
+create table oauth_access_token (
+    token_id          varchar(256) primary key,
+    token             bytea,
+    authentication_id varchar(256),
+    user_name         varchar(256),
+    client_id         varchar(256),
+    authentication    bytea,
+    refresh_token     varchar(256),
+    expiration        timestamp
+);
+
+create index oauth_access_token_authentication_id_idx on oauth_access_token (authentication_id);
+create index oauth_access_token_client_id_user_name_idx on oauth_access_token (client_id, user_name);
+create index oauth_access_token_refresh_token_idx on oauth_access_token (refresh_token);
+create index oauth_access_token_expiration_idx on oauth_access_token (expiration);
+
+create table oauth_refresh_token (
+    token_id       varchar(256) primary key,
+    token          bytea,
+    authentication bytea,
+    expiration     timestamp
+);
+
+create index oauth_refresh_token_expiration_idx on oauth_refresh_token (expiration);
@@ -0,0 +1,5 @@
+-- 목록 조회에서 정렬을 허용한 컬럼 (EventSearch.SORTABLE_PROPERTIES)
+create index event_name_idx on event (name);
+create index event_begin_enrollment_date_time_idx on event (begin_enrollment_date_time);
+-- 유료/무료로 거르고 가격 범위로 좁히는 조회
+create index event_free_base_price_idx on event (free, base_price);
@@ -0,0 +1,13 @@
+-- EventLifecycle 의 상태 전이 UPDATE 가 상태와 기준 시각으로 대상 행만 찾는다
+-- (시작 시각은 V1 의 event_event_status_begin_event_date_time_idx 를 쓴다)
+create index event_event_status_begin_enrollment_date_time_idx on event (event_status, begin_enrollment_date_time);
+create index event_event_status_close_enrollment_date_time_idx on event (event_status, close_enrollment_date_time);
+create index event_event_status_end_event_date_time_idx on event (event_status, end_event_date_time);
+
+-- 여러 인스턴스 중 하나만 주기 작업을 돌리도록 임대하는 행 (JdbcLeaderLock)
+create table scheduler_lock (
+    name         varchar(64)  not null,
+    locked_until timestamp    not null,
+    locked_by    varchar(255) not null,
+    constraint scheduler_lock_pk primary key (name)
+);
@@ -0,0 +1,30 @@
+create sequence enrollment_seq start with 1 increment by 50;
+
+create table enrollment (
+    id                  integer      not null,
+    event_id            integer      not null,
+    account_id          integer      not null,
+    status              varchar(255) not null,
+    stripe              integer,
+    enrolled_date_time  timestamp    not null,
+    constraint enrollment_pk primary key (id),
+    -- 한 계정은 이벤트마다 한 번만 신청한다
+    constraint enrollment_event_id_account_id_uk unique (event_id, account_id),
+    constraint enrollment_event_fk foreign key (event_id) references event (id) on delete cascade,
+    constraint enrollment_account_fk foreign key (account_id) references account (id)
+);
+
+-- 이벤트별 신청 목록과 대기 순서(id 순)로 다음 대기자를 찾는 조회
+create index enrollment_event_id_status_id_idx on enrollment (event_id, status, id);
+-- 계정 삭제 시 외래 키 검사
+create index enrollment_account_id_idx on enrollment (account_id);
+
+-- 이벤트의 남은 자리를 여러 줄에 나눠 둔다 (EnrollmentCapacity)
+-- 신청은 한 줄만 잠그므로 몰려도 한 행 잠금에 줄 서지 않는다
+create table enrollment_stripe (
+    event_id  integer not null,
+    stripe    integer not null,
+    remaining integer not null,
+    constraint enrollment_stripe_pk primary key (event_id, stripe),
+    constraint enrollment_stripe_event_fk foreign key (event_id) references event (id) on delete cascade
+);
@@ -0,0 +1,96 @@
+package me.jaehong.restapi.accounts;
+
+import org.junit.Test;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccountAdapterTest {
+
+    @Test
+    public void principal() {
+        //Given
+        Account account = Account.builder()
+                .id(3)
+                .email("user@email.com")
+                .password("user")
+                .roles(Set.of(AccountRole.USER))
+                .build();
+
+        //When
+        AccountPrincipal principal = new AccountAdapter(account).getPrincipal();
+
+        //Then
+        assertThat(principal.getId()).isEqualTo(3);
+        assertThat(principal.getEmail()).isEqualTo("user@email.com");
+        assertThat(principal.hasRole(AccountRole.USER)).isTrue();
+        assertThat(principal.hasRole(AccountRole.ADMIN)).isFalse();
+        assertThat(principal.is(account)).isTrue();
+        assertThat(principal.is(Account.builder().id(4).build())).isFalse();
+    }
+
+    @Test
+    public void serialize() throws Exception {
+        //Given
+        Account account = Account.builder()
+                .id(5)
+                .email("admin@email.com")
+                .password("admin")
+                .roles(Set.of(AccountRole.ADMIN, AccountRole.USER))
+                .build();
+
+        //When
+        AccountAdapter adapter = deserialize(serialize(new AccountAdapter(account)));
+
+        //Then
+        assertThat(adapter.getUsername()).isEqualTo("admin@email.com");
+        assertThat(adapter.getPrincipal().getId()).isEqualTo(5);
+        assertThat(adapter.getPrincipal().getRoles()).containsExactlyInAnyOrder(AccountRole.ADMIN, AccountRole.USER);
+    }
+
+    /**
+     * Account 엔티티를 통째로 담던 이전 버전이 토큰 저장소에 남긴 인증 정보도 읽는다
+     */
+    @Test
+    public void deserializeLegacy() throws Exception {
+        //Given
+        byte[] legacy;
+        try (InputStream in = getClass().getResourceAsStream("/accounts/account-adapter-legacy.b64")) {
+            legacy = Base64.getMimeDecoder().decode(StreamUtils.copyToString(in, StandardCharsets.US_ASCII));
+        }
+
+        //When
+        AccountAdapter adapter = deserialize(legacy);
+
+        //Then
+        assertThat(adapter.getUsername()).isEqualTo("legacy@email.com");
+        assertThat(adapter.getAuthorities()).hasSize(2);
+        assertThat(adapter.getPrincipal().getId()).isEqualTo(7);
+        assertThat(adapter.getPrincipal().getEmail()).isEqualTo("legacy@email.com");
+        assertThat(adapter.getPrincipal().getRoles()).containsExactlyInAnyOrder(AccountRole.ADMIN, AccountRole.USER);
+    }
+
+    private byte[] serialize(AccountAdapter adapter) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(adapter);
+        }
+        return bytes.toByteArray();
+    }
+
+    private AccountAdapter deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (AccountAdapter) in.readObject();
+        }
+    }
+}
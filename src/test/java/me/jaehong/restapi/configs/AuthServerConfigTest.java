@@ -8,8 +8,17 @@ import me.jaehong.restapi.common.BaseControllerTest;
 import me.jaehong.restapi.common.TestDescription;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
 
+import java.util.Date;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -25,6 +34,15 @@ public class AuthServerConfigTest extends BaseControllerTest {
     @Autowired
     AppProperties appProperties;
 
+    @Autowired
+    CachingTokenStore tokenStore;
+
+    @Autowired
+    ExpiringJdbcTokenStore jdbcTokenStore;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     @Test
     @TestDescription("인증 토큰을 발급 받는 테스트")
     public void getAuthToken() throws Exception {
@@ -37,6 +55,56 @@ public class AuthServerConfigTest extends BaseControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("access_token").exists());
+
+        Integer stored = jdbcTemplate.queryForObject(
+                "select count(*) from oauth_access_token where user_name = ? and expiration is not null",
+                Integer.class, appProperties.getUserUsername());
+        assertThat(stored).isEqualTo(1);
+    }
+
+    @Test
+    @TestDescription("한 번 읽은 토큰은 캐시에서 읽고 삭제하면 캐시에서도 빠지는 테스트")
+    public void readAccessToken_Cached() {
+        //Given
+        DefaultOAuth2AccessToken token = new DefaultOAuth2AccessToken(UUID.randomUUID().toString());
+        token.setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        tokenStore.storeAccessToken(token, buildAuthentication());
+
+        //When
+        tokenStore.readAccessToken(token.getValue());
+        long hitCount = tokenStore.getAccessTokens().stats().hitCount();
+        tokenStore.readAccessToken(token.getValue());
+
+        //Then
+        assertThat(tokenStore.getAccessTokens().stats().hitCount()).isEqualTo(hitCount + 1);
+        tokenStore.removeAccessToken(token);
+        assertThat(tokenStore.readAccessToken(token.getValue())).isNull();
+    }
+
+    @Test
+    @TestDescription("만료된 토큰만 정리되는 테스트")
+    public void purgeExpiredTokens() {
+        //Given
+        DefaultOAuth2AccessToken expired = new DefaultOAuth2AccessToken(UUID.randomUUID().toString());
+        expired.setExpiration(new Date(System.currentTimeMillis() - 1000));
+        jdbcTokenStore.storeAccessToken(expired, buildAuthentication());
+
+        DefaultOAuth2AccessToken valid = new DefaultOAuth2AccessToken(UUID.randomUUID().toString());
+        valid.setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        jdbcTokenStore.storeAccessToken(valid, buildAuthentication());
+
+        //When
+        jdbcTokenStore.purgeExpiredTokens();
+
+        //Then
+        assertThat(jdbcTokenStore.readAccessToken(expired.getValue())).isNull();
+        assertThat(jdbcTokenStore.readAccessToken(valid.getValue())).isNotNull();
+    }
+
+    private OAuth2Authentication buildAuthentication() {
+        OAuth2Request request = new OAuth2Request(Map.of(), appProperties.getClientId(), Set.of(), true,
+                Set.of("read"), Set.of(), null, Set.of(), Map.of());
+        return new OAuth2Authentication(request, null);
     }
 
 }
\ No newline at end of file
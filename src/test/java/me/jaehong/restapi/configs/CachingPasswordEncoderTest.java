@@ -0,0 +1,64 @@
+package me.jaehong.restapi.configs;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachingPasswordEncoderTest {
+
+    private CachingPasswordEncoder passwordEncoder;
+
+    @Before
+    public void setUp() {
+        passwordEncoder = new CachingPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder(),
+                Executors.newSingleThreadExecutor(), 100, Duration.ofMinutes(1));
+    }
+
+    @After
+    public void tearDown() {
+        passwordEncoder.shutdown();
+    }
+
+    @Test
+    public void matches_Cached() {
+        // Given
+        String encoded = passwordEncoder.encode("pass");
+
+        // When
+        assertThat(passwordEncoder.matches("pass", encoded)).isTrue();
+        assertThat(passwordEncoder.matches("pass", encoded)).isTrue();
+
+        // Then
+        assertThat(passwordEncoder.getVerified().stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void matches_WrongPassword_NotCached() {
+        // Given
+        String encoded = passwordEncoder.encode("pass");
+
+        // When & Then
+        assertThat(passwordEncoder.matches("wrong", encoded)).isFalse();
+        assertThat(passwordEncoder.getVerified().estimatedSize()).isZero();
+    }
+
+    @Test
+    public void matches_PasswordChanged() {
+        // Given
+        String encoded = passwordEncoder.encode("pass");
+        passwordEncoder.matches("pass", encoded);
+
+        // When
+        String changed = passwordEncoder.encode("changed");
+
+        // Then
+        assertThat(passwordEncoder.matches("pass", changed)).isFalse();
+        assertThat(passwordEncoder.matches("changed", changed)).isTrue();
+    }
+}
@@ -0,0 +1,38 @@
+package me.jaehong.restapi.configs;
+
+import me.jaehong.restapi.common.BaseControllerTest;
+import me.jaehong.restapi.common.TestDescription;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("fast-start")
+public class FastStartTest extends BaseControllerTest {
+
+    @Autowired
+    ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    @TestDescription("빠른 기동 모드에서 애플리케이션 빈은 지연 초기화하고 인프라 빈과 스케줄 작업은 그대로 두기")
+    public void lazyInitialization() {
+        assertThat(this.beanFactory.getBeanDefinition("eventController").isLazyInit()).isTrue();
+        assertThat(this.beanFactory.getBeanDefinition("appConfig").isLazyInit()).isTrue();
+        assertThat(this.beanFactory.getBeanDefinition("eventLifecycle").isLazyInit()).isFalse();
+        assertThat(this.beanFactory.getBeanDefinition("org.springframework.context.annotation.internalConfigurationAnnotationProcessor")
+                .isLazyInit()).isFalse();
+    }
+
+    @Test
+    @TestDescription("빠른 기동 모드에서 인덱스 응답받기")
+    public void index() throws Exception {
+        this.mockMvc.perform(get("/api"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_links.events").exists());
+    }
+}
@@ -0,0 +1,47 @@
+package me.jaehong.restapi.configs;
+
+import me.jaehong.restapi.common.BaseControllerTest;
+import me.jaehong.restapi.common.TestDescription;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JdbcLeaderLockTest extends BaseControllerTest {
+
+    private static final String NAME = "leader-lock-test";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private JdbcLeaderLock first;
+
+    private JdbcLeaderLock second;
+
+    @Before
+    public void setUp() {
+        this.jdbcTemplate.update("delete from scheduler_lock where name = ?", NAME);
+        this.first = new JdbcLeaderLock(this.jdbcTemplate, "first");
+        this.second = new JdbcLeaderLock(this.jdbcTemplate, "second");
+    }
+
+    @Test
+    @TestDescription("임대 중인 작업은 다른 인스턴스가 가져가지 못하고 리더는 연장하기")
+    public void tryAcquire_Leased() {
+        assertThat(this.first.tryAcquire(NAME, Duration.ofMinutes(5))).isTrue();
+        assertThat(this.second.tryAcquire(NAME, Duration.ofMinutes(5))).isFalse();
+        assertThat(this.first.tryAcquire(NAME, Duration.ofMinutes(5))).isTrue();
+    }
+
+    @Test
+    @TestDescription("임대가 끝난 작업은 다른 인스턴스가 가져가기")
+    public void tryAcquire_Expired() {
+        assertThat(this.first.tryAcquire(NAME, Duration.ZERO)).isTrue();
+        assertThat(this.second.tryAcquire(NAME, Duration.ofMinutes(5))).isTrue();
+        assertThat(this.first.tryAcquire(NAME, Duration.ofMinutes(5))).isFalse();
+    }
+}
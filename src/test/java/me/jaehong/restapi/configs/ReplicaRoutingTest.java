@@ -0,0 +1,216 @@
+package me.jaehong.restapi.configs;
+
+import me.jaehong.restapi.accounts.Account;
+import me.jaehong.restapi.accounts.AccountRepository;
+import me.jaehong.restapi.accounts.AccountRole;
+import me.jaehong.restapi.accounts.AccountService;
+import me.jaehong.restapi.common.AppProperties;
+import me.jaehong.restapi.common.BaseControllerTest;
+import me.jaehong.restapi.common.TestDescription;
+import me.jaehong.restapi.events.Event;
+import me.jaehong.restapi.events.EventDto;
+import me.jaehong.restapi.events.EventETags;
+import me.jaehong.restapi.events.EventRepository;
+import me.jaehong.restapi.events.EventStatus;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "my-app.replica-urls=" + ReplicaRoutingTest.REPLICA_URL,
+        "my-app.replica-lag-query=select lag_seconds from replication_lag",
+        "my-app.replica-check-interval=1h"
+})
+public class ReplicaRoutingTest extends BaseControllerTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    private static final List<String> REPLICATED_TABLES = List.of("account", "account_roles", "event");
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    JdbcTemplate primary;
+
+    @Autowired
+    ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AppProperties appProperties;
+
+    @BeforeClass
+    public static void setUpReplica() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(REPLICA_URL);
+        dataSource.setUser("sa");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+        replica = new JdbcTemplate(dataSource);
+        replica.execute("create table if not exists replication_lag (lag_seconds double)");
+    }
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+        this.accountRepository.deleteAll();
+        replicate();
+        setReplicationLag(0);
+    }
+
+    @Test
+    @TestDescription("읽기 전용 조회는 복제본에서 읽는다")
+    public void readOnlyQueryReadsReplica() throws Exception {
+        //Given
+        this.eventRepository.save(buildEvent("event", null));
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(0));
+
+        replicate();
+        this.mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(1));
+    }
+
+    @Test
+    @TestDescription("복제 지연이 허용치를 넘으면 주 데이터베이스에서 읽는다")
+    public void laggingReplicaFallsBackToPrimary() throws Exception {
+        //Given
+        this.eventRepository.save(buildEvent("event", null));
+
+        //When
+        setReplicationLag(60);
+
+        //Then
+        this.mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(1));
+    }
+
+    @Test
+    @TestDescription("이벤트를 수정한 매니저는 복제가 따라올 때까지 자기 변경을 주 데이터베이스에서 읽는다")
+    public void managerReadsOwnWrites() throws Exception {
+        //Given
+        Account manager = this.accountService.saveAccount(Account.builder()
+                .email(this.appProperties.getUserUsername())
+                .password(this.appProperties.getUserPassword())
+                .roles(Set.of(AccountRole.USER))
+                .build());
+        Event event = this.eventRepository.save(buildEvent("before", manager));
+        replicate();
+        String accessToken = getAccessToken();
+
+        EventDto eventDto = EventDto.builder()
+                .name("after")
+                .description(event.getDescription())
+                .beginEnrollmentDateTime(event.getBeginEnrollmentDateTime())
+                .closeEnrollmentDateTime(event.getCloseEnrollmentDateTime())
+                .beginEventDateTime(event.getBeginEventDateTime())
+                .endEventDateTime(event.getEndEventDateTime())
+                .basePrice(event.getBasePrice())
+                .maxPrice(event.getMaxPrice())
+                .limitOfEnrollment(event.getLimitOfEnrollment())
+                .location(event.getLocation())
+                .build();
+
+        //When
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .header(HttpHeaders.IF_MATCH, EventETags.of(event.getVersion(), true))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk());
+
+        //Then
+        this.mockMvc.perform(get("/api/events")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("after"));
+
+        this.mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("before"));
+    }
+
+    private String getAccessToken() throws Exception {
+        var responseBody = this.mockMvc.perform(post("/oauth/token")
+                    .with(httpBasic(this.appProperties.getClientId(), this.appProperties.getClientSecret()))
+                    .param("username", this.appProperties.getUserUsername())
+                    .param("password", this.appProperties.getUserPassword())
+                    .param("grant_type", "password"))
+                .andReturn().getResponse().getContentAsString();
+        return new Jackson2JsonParser().parseMap(responseBody).get("access_token").toString();
+    }
+
+    /**
+     * 주 데이터베이스의 계정과 이벤트를 그대로 복제본에 옮겨 복제가 따라잡은 상태를 만든다.
+     */
+    private void replicate() {
+        for (int i = REPLICATED_TABLES.size() - 1; i >= 0; i--) {
+            replica.update("delete from " + REPLICATED_TABLES.get(i));
+        }
+        for (String table : REPLICATED_TABLES) {
+            SimpleJdbcInsert insert = new SimpleJdbcInsert(replica).withTableName(table);
+            this.primary.queryForList("select * from " + table).forEach(insert::execute);
+        }
+    }
+
+    private void setReplicationLag(double seconds) {
+        replica.update("delete from replication_lag");
+        replica.update("insert into replication_lag values (?)", seconds);
+        this.replicaRoutingDataSource.checkReplicas();
+    }
+
+    private Event buildEvent(String name, Account manager) {
+        return Event.builder()
+                .name(name)
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2019, 9, 30, 15, 27))
+                .closeEnrollmentDateTime(LocalDateTime.of(2019, 10, 1, 15, 27))
+                .beginEventDateTime(LocalDateTime.of(2019, 10, 2, 15, 27))
+                .endEventDateTime(LocalDateTime.of(2019, 10, 3, 15, 27))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("경성대학교")
+                .eventStatus(EventStatus.DRAFT)
+                .manager(manager)
+                .build();
+    }
+}
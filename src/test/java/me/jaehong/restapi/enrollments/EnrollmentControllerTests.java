@@ -0,0 +1,334 @@
+package me.jaehong.restapi.enrollments;
+
+import me.jaehong.restapi.accounts.Account;
+import me.jaehong.restapi.accounts.AccountRole;
+import me.jaehong.restapi.accounts.AccountService;
+import me.jaehong.restapi.common.AppProperties;
+import me.jaehong.restapi.common.BaseControllerTest;
+import me.jaehong.restapi.common.TestDescription;
+import me.jaehong.restapi.events.Event;
+import me.jaehong.restapi.events.EventDto;
+import me.jaehong.restapi.events.EventETags;
+import me.jaehong.restapi.events.EventFixtures;
+import me.jaehong.restapi.events.EventLifecycle;
+import me.jaehong.restapi.events.EventRepository;
+import me.jaehong.restapi.events.EventStatus;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+
+import java.util.Set;
+
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.relaxedResponseFields;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class EnrollmentControllerTests extends BaseControllerTest {
+
+    private static final String MANAGER_EMAIL = "enrollment-manager@email.com";
+
+    private static final String FIRST_EMAIL = "enrollment-first@email.com";
+
+    private static final String SECOND_EMAIL = "enrollment-second@email.com";
+
+    private static final String PASSWORD = "enrollment";
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AppProperties appProperties;
+
+    @Autowired
+    EventLifecycle eventLifecycle;
+
+    private Account manager;
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+        this.manager = saveAccount(MANAGER_EMAIL);
+        saveAccount(FIRST_EMAIL);
+        saveAccount(SECOND_EMAIL);
+    }
+
+    @Test
+    @TestDescription("정원이 남은 이벤트에 신청하면 확정되기")
+    public void createEnrollment() throws Exception {
+        //Given
+        Event event = generateEvent(EventStatus.BEGAN_ENROLLMENT, 1);
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearer(FIRST_EMAIL))
+                    .accept(MediaTypes.HAL_JSON))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("id").exists())
+                .andExpect(jsonPath("status").value(EnrollmentStatus.ACCEPTED.name()))
+                .andExpect(jsonPath("stripe").doesNotExist())
+                .andExpect(jsonPath("_links.cancel-enrollment").exists())
+                .andDo(document("create-enrollment",
+                        links(
+                                linkWithRel("self").description("link to self"),
+                                linkWithRel("event").description("link to the event"),
+                                linkWithRel("cancel-enrollment").description("link to cancel the enrollment"),
+                                linkWithRel("profile").description("link to profile")
+                        ),
+                        relaxedResponseFields(
+                                fieldWithPath("id").description("identifier of the enrollment"),
+                                fieldWithPath("account.id").description("identifier of the enrolled account"),
+                                fieldWithPath("status").description("ACCEPTED, or WAITING when the event is full"),
+                                fieldWithPath("enrolledDateTime").description("date time of the enrollment")
+                        )
+                ));
+    }
+
+    @Test
+    @TestDescription("작성 중인 이벤트를 공개하고 신청 기간이 되면 신청받기")
+    public void createEnrollment_After_Publishing() throws Exception {
+        //Given
+        Event event = generateEvent(EventStatus.DRAFT, 1);
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearer(FIRST_EMAIL)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("enrollmentClosed"));
+
+        //When
+        this.mockMvc.perform(post("/api/events/{id}/publish", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearer(MANAGER_EMAIL)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("eventStatus").value(EventStatus.PUBLISHED.name()));
+        this.eventLifecycle.advance(event.getBeginEnrollmentDateTime());
+
+        //Then
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(jsonPath("eventStatus").value(EventStatus.BEGAN_ENROLLMENT.name()));
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearer(FIRST_EMAIL)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("status").value(EnrollmentStatus.ACCEPTED.name()));
+    }
+
+    @Test
+    @TestDescription("정원이 찬 이벤트에 신청하면 대기하기")
+    public void createEnrollment_Waiting() throws Exception {
+        //Given
+        Event event = generateEvent(EventStatus.BEGAN_ENROLLMENT, 1);
+        enroll(event, FIRST_EMAIL);
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearer(SECOND_EMAIL)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("status").value(EnrollmentStatus.WAITING.name()));
+    }
+
+    @Test
+    @TestDescription("신청 기간이 아닌 이벤트에 신청하면 400 응답받기")
+    public void createEnrollment_Bad_Request_Closed() throws Exception {
+        //Given
+        Event event = generateEvent(EventStatus.CLOSED_ENROLLMENT, 1);
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearer(FIRST_EMAIL)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("enrollmentClosed"));
+    }
+
+    @Test
+    @TestDescription("같은 이벤트에 다시 신청하면 409 응답받기")
+    public void createEnrollment_Conflict() throws Exception {
+        //Given
+        Event event = generateEvent(EventStatus.BEGAN_ENROLLMENT, 1);
+        enroll(event, FIRST_EMAIL);
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearer(FIRST_EMAIL)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @TestDescription("없는 이벤트에 신청하면 404 응답받기")
+    public void createEnrollment_404() throws Exception {
+        this.mockMvc.perform(post("/api/events/11883/enrollments")
+                    .header(HttpHeaders.AUTHORIZATION, bearer(FIRST_EMAIL)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @TestDescription("매니저가 확정된 신청과 대기 중인 신청을 순서대로 조회하기")
+    public void queryEnrollments() throws Exception {
+        //Given
+        Event event = generateEvent(EventStatus.BEGAN_ENROLLMENT, 1);
+        enroll(event, FIRST_EMAIL);
+        enroll(event, SECOND_EMAIL);
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearer(MANAGER_EMAIL)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.enrollmentList[0].status").value(EnrollmentStatus.ACCEPTED.name()))
+                .andExpect(jsonPath("_embedded.enrollmentList[1].status").value(EnrollmentStatus.WAITING.name()))
+                .andExpect(jsonPath("page.totalElements").value(2))
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("get-enrollments"));
+    }
+
+    @Test
+    @TestDescription("신청 목록을 페이지로 나눠 조회하기")
+    public void queryEnrollments_Paged() throws Exception {
+        //Given
+        Event event = generateEvent(EventStatus.BEGAN_ENROLLMENT, 1);
+        enroll(event, FIRST_EMAIL);
+        Integer waiting = enroll(event, SECOND_EMAIL);
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearer(MANAGER_EMAIL))
+                    .param("page", "1")
+                    .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.enrollmentList.length()").value(1))
+                .andExpect(jsonPath("_embedded.enrollmentList[0].id").value(waiting))
+                .andExpect(jsonPath("page.totalElements").value(2))
+                .andExpect(jsonPath("page.totalPages").value(2))
+                .andExpect(jsonPath("_links.prev").exists())
+                .andExpect(jsonPath("_links.first").exists());
+    }
+
+    @Test
+    @TestDescription("매니저가 아니면 신청 목록을 조회하지 못하기")
+    public void queryEnrollments_Unauthorized() throws Exception {
+        //Given
+        Event event = generateEvent(EventStatus.BEGAN_ENROLLMENT, 1);
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearer(FIRST_EMAIL)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @TestDescription("확정된 신청을 취소하면 첫 대기자가 확정되기")
+    public void cancelEnrollment() throws Exception {
+        //Given
+        Event event = generateEvent(EventStatus.BEGAN_ENROLLMENT, 1);
+        Integer accepted = enroll(event, FIRST_EMAIL);
+        Integer waiting = enroll(event, SECOND_EMAIL);
+
+        //When
+        this.mockMvc.perform(delete("/api/events/{eventId}/enrollments/{id}", event.getId(), accepted)
+                    .header(HttpHeaders.AUTHORIZATION, bearer(FIRST_EMAIL)))
+                .andDo(print())
+                .andExpect(status().isNoContent())
+                .andDo(document("cancel-enrollment"));
+
+        //Then
+        this.mockMvc.perform(get("/api/events/{eventId}/enrollments/{id}", event.getId(), waiting)
+                    .header(HttpHeaders.AUTHORIZATION, bearer(SECOND_EMAIL)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("status").value(EnrollmentStatus.ACCEPTED.name()))
+                .andExpect(jsonPath("_links.cancel-enrollment").exists());
+        this.mockMvc.perform(get("/api/events/{eventId}/enrollments/{id}", event.getId(), accepted)
+                    .header(HttpHeaders.AUTHORIZATION, bearer(FIRST_EMAIL)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @TestDescription("다른 계정의 신청은 취소하지 못하기")
+    public void cancelEnrollment_Unauthorized() throws Exception {
+        //Given
+        Event event = generateEvent(EventStatus.BEGAN_ENROLLMENT, 1);
+        Integer enrollment = enroll(event, FIRST_EMAIL);
+
+        //When & Then
+        this.mockMvc.perform(delete("/api/events/{eventId}/enrollments/{id}", event.getId(), enrollment)
+                    .header(HttpHeaders.AUTHORIZATION, bearer(SECOND_EMAIL)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @TestDescription("정원을 늘리면 대기자가 확정되고, 확정된 신청보다 줄이면 400 응답받기")
+    public void updateEvent_LimitOfEnrollment() throws Exception {
+        //Given
+        Event event = generateEvent(EventStatus.BEGAN_ENROLLMENT, 1);
+        enroll(event, FIRST_EMAIL);
+        Integer waiting = enroll(event, SECOND_EMAIL);
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+
+        //When & Then
+        eventDto.setLimitOfEnrollment(2);
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearer(MANAGER_EMAIL))
+                    .header(HttpHeaders.IF_MATCH, EventETags.of(event.getVersion(), true))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("limitOfEnrollment").value(2));
+        this.mockMvc.perform(get("/api/events/{eventId}/enrollments/{id}", event.getId(), waiting)
+                    .header(HttpHeaders.AUTHORIZATION, bearer(SECOND_EMAIL)))
+                .andExpect(jsonPath("status").value(EnrollmentStatus.ACCEPTED.name()));
+
+        eventDto.setLimitOfEnrollment(1);
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearer(MANAGER_EMAIL))
+                    .header(HttpHeaders.IF_MATCH, EventETags.of(event.getVersion() + 1, true))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].field").value("limitOfEnrollment"));
+    }
+
+    private Integer enroll(Event event, String email) throws Exception {
+        String body = this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearer(email)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return (Integer) new Jackson2JsonParser().parseMap(body).get("id");
+    }
+
+    private String bearer(String email) throws Exception {
+        var responseBody = this.mockMvc.perform(post("/oauth/token")
+                    .with(httpBasic(this.appProperties.getClientId(), this.appProperties.getClientSecret()))
+                    .param("username", email)
+                    .param("password", PASSWORD)
+                    .param("grant_type", "password"))
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + new Jackson2JsonParser().parseMap(responseBody).get("access_token");
+    }
+
+    private Account saveAccount(String email) {
+        return this.accountService.saveAccountIfAbsent(Account.builder()
+                .email(email)
+                .password(PASSWORD)
+                .roles(Set.of(AccountRole.USER))
+                .build());
+    }
+
+    private Event generateEvent(EventStatus eventStatus, int limitOfEnrollment) {
+        Event event = EventFixtures.event("enrollment")
+                .limitOfEnrollment(limitOfEnrollment)
+                .eventStatus(eventStatus)
+                .manager(this.manager)
+                .build();
+        return this.eventRepository.save(event);
+    }
+}
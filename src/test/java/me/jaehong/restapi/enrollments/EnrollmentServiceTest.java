@@ -0,0 +1,261 @@
+package me.jaehong.restapi.enrollments;
+
+import me.jaehong.restapi.accounts.Account;
+import me.jaehong.restapi.accounts.AccountRepository;
+import me.jaehong.restapi.accounts.AccountRole;
+import me.jaehong.restapi.common.AppProperties;
+import me.jaehong.restapi.common.BaseControllerTest;
+import me.jaehong.restapi.common.TestDescription;
+import me.jaehong.restapi.events.Event;
+import me.jaehong.restapi.events.EventFixtures;
+import me.jaehong.restapi.events.EventRepository;
+import me.jaehong.restapi.events.EventStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EnrollmentServiceTest extends BaseControllerTest {
+
+    private static final int CLIENTS = 1000;
+
+    @Autowired
+    EnrollmentService enrollmentService;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    AppProperties appProperties;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+        this.transactionTemplate = new TransactionTemplate(this.transactionManager);
+        this.executor = Executors.newFixedThreadPool(CLIENTS);
+    }
+
+    @After
+    public void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    @TestDescription("1000 명이 동시에 신청해도 정원만큼만 확정되고 나머지는 대기하기")
+    public void enroll_Concurrently() throws Exception {
+        //Given
+        Event event = generateEvent(100);
+        List<Account> accounts = generateAccounts(CLIENTS);
+
+        //When
+        runConcurrently(accounts.stream()
+                .map(account -> (Callable<Enrollment>) () -> this.enrollmentService.enroll(event, account))
+                .collect(Collectors.toList()));
+
+        //Then
+        assertThat(this.enrollmentRepository.countByEventIdAndStatus(event.getId(), EnrollmentStatus.ACCEPTED)).isEqualTo(100);
+        assertThat(this.enrollmentRepository.countByEventIdAndStatus(event.getId(), EnrollmentStatus.WAITING)).isEqualTo(CLIENTS - 100);
+        assertThat(remaining(event)).isZero();
+    }
+
+    @Test
+    @TestDescription("확정된 신청의 취소와 새 신청이 동시에 들어와도 먼저 기다린 대기자가 자리를 받기")
+    public void cancel_Concurrently() throws Exception {
+        //Given
+        Event event = generateEvent(100);
+        List<Account> accounts = generateAccounts(300);
+        List<Enrollment> enrollments = accounts.subList(0, 200).stream()
+                .map(account -> this.enrollmentService.enroll(event, account))
+                .collect(Collectors.toList());
+        List<Enrollment> accepted = enrollments.subList(0, 100);
+        List<Enrollment> waiting = enrollments.subList(100, 200);
+        assertThat(accepted).allMatch(enrollment -> enrollment.getStatus() == EnrollmentStatus.ACCEPTED);
+        assertThat(waiting).allMatch(enrollment -> enrollment.getStatus() == EnrollmentStatus.WAITING);
+
+        //When
+        List<Callable<Object>> tasks = new ArrayList<>();
+        accepted.forEach(enrollment -> tasks.add(() -> {
+            this.enrollmentService.cancel(enrollment.getId());
+            return null;
+        }));
+        accounts.subList(200, 300).forEach(account -> tasks.add(() -> this.enrollmentService.enroll(event, account)));
+        runConcurrently(tasks);
+
+        //Then
+        assertThat(waiting).allMatch(enrollment -> statusOf(enrollment) == EnrollmentStatus.ACCEPTED);
+        assertThat(this.enrollmentRepository.countByEventIdAndStatus(event.getId(), EnrollmentStatus.ACCEPTED)).isEqualTo(100);
+        assertThat(this.enrollmentRepository.countByEventIdAndStatus(event.getId(), EnrollmentStatus.WAITING)).isEqualTo(100);
+        assertThat(remaining(event)).isZero();
+    }
+
+    @Test
+    @TestDescription("첫 신청과 정원 변경이 동시에 들어와도 저장된 정원보다 많이 확정하지 않기")
+    public void enroll_WhileResizing() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            //Given
+            Event event = generateEvent(1);
+            Account account = generateAccounts(1).get(0);
+
+            //When
+            runConcurrently(List.of(
+                    () -> this.enrollmentService.enroll(event, account),
+                    () -> changeLimit(event, 0)));
+
+            //Then
+            int limitOfEnrollment = this.jdbcTemplate.queryForObject(
+                    "select limit_of_enrollment from event where id = ?", Integer.class, event.getId());
+            long accepted = this.enrollmentRepository.countByEventIdAndStatus(event.getId(), EnrollmentStatus.ACCEPTED);
+            assertThat(accepted).isLessThanOrEqualTo(limitOfEnrollment);
+            assertThat(accepted + remaining(event)).isEqualTo(limitOfEnrollment);
+        }
+    }
+
+    @Test
+    @TestDescription("같은 계정이 다시 신청하면 DuplicateKeyException 으로 알리기")
+    public void enroll_Twice() {
+        //Given
+        Event event = generateEvent(1);
+        Account account = generateAccounts(1).get(0);
+        this.enrollmentService.enroll(event, account);
+
+        //When & Then
+        assertThatThrownBy(() -> this.enrollmentService.enroll(event, account))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThat(remaining(event)).isZero();
+    }
+
+    @Test
+    @TestDescription("중복 신청이 아닌 제약 위반은 DuplicateKeyException 으로 바꾸지 않기")
+    public void enroll_UnknownAccount() {
+        //Given
+        Event event = generateEvent(1);
+        Account account = Account.builder().id(Integer.MAX_VALUE).build();
+
+        //When & Then
+        assertThatThrownBy(() -> this.enrollmentService.enroll(event, account))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .isNotInstanceOf(DuplicateKeyException.class);
+        assertThat(remaining(event)).isEqualTo(1);
+    }
+
+    @Test
+    @TestDescription("줄을 만든 뒤 줄 수 설정을 줄여도 남은 자리를 모두 받기")
+    public void enroll_After_Stripes_Changed() {
+        //Given
+        int stripes = this.appProperties.getEnrollmentStripes();
+        Event event = generateEvent(stripes);
+        List<Account> accounts = generateAccounts(stripes);
+        this.enrollmentService.enroll(event, accounts.get(0));
+
+        //When
+        List<Enrollment> enrollments;
+        this.appProperties.setEnrollmentStripes(1);
+        try {
+            enrollments = accounts.subList(1, stripes).stream()
+                    .map(account -> this.enrollmentService.enroll(event, account))
+                    .collect(Collectors.toList());
+        } finally {
+            this.appProperties.setEnrollmentStripes(stripes);
+        }
+
+        //Then
+        assertThat(enrollments).allMatch(enrollment -> enrollment.getStatus() == EnrollmentStatus.ACCEPTED);
+        assertThat(remaining(event)).isZero();
+    }
+
+    /**
+     * 모든 작업을 한꺼번에 풀고 끝날 때까지 기다린다. 작업에서 난 예외는 그대로 던진다
+     */
+    private void runConcurrently(List<? extends Callable<?>> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Callable<?> task : tasks) {
+            futures.add(this.executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    /**
+     * 이벤트 수정처럼 정원을 바꾸고 새 정원을 한 트랜잭션에서 저장한다
+     */
+    private boolean changeLimit(Event event, int limitOfEnrollment) {
+        return this.transactionTemplate.execute(transaction -> {
+            if (!this.enrollmentService.resize(event, limitOfEnrollment)) {
+                return false;
+            }
+            this.jdbcTemplate.update("update event set limit_of_enrollment = ? where id = ?", limitOfEnrollment, event.getId());
+            return true;
+        });
+    }
+
+    private EnrollmentStatus statusOf(Enrollment enrollment) {
+        return this.enrollmentRepository.findById(enrollment.getId()).orElseThrow().getStatus();
+    }
+
+    private int remaining(Event event) {
+        return this.jdbcTemplate.queryForObject("select sum(remaining) from enrollment_stripe where event_id = ?",
+                Integer.class, event.getId());
+    }
+
+    private List<Account> generateAccounts(int count) {
+        // 비밀번호로 로그인하지 않으므로 해시하지 않고 바로 저장한다
+        String prefix = UUID.randomUUID().toString();
+        return this.accountRepository.saveAll(IntStream.range(0, count)
+                .mapToObj(i -> Account.builder()
+                        .email(prefix + "-" + i + "@email.com")
+                        .password("enrollee")
+                        .roles(Set.of(AccountRole.USER))
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    private Event generateEvent(int limitOfEnrollment) {
+        Event event = EventFixtures.event("popular event")
+                .limitOfEnrollment(limitOfEnrollment)
+                .eventStatus(EventStatus.BEGAN_ENROLLMENT)
+                .build();
+        return this.eventRepository.save(event);
+    }
+}
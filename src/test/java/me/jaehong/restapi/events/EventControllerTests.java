@@ -1,5 +1,8 @@
 package me.jaehong.restapi.events;
 
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import me.jaehong.restapi.accounts.Account;
 import me.jaehong.restapi.accounts.AccountRepository;
 import me.jaehong.restapi.accounts.AccountRole;
@@ -8,21 +11,31 @@ import me.jaehong.restapi.common.AppProperties;
 import me.jaehong.restapi.common.BaseControllerTest;
 import me.jaehong.restapi.common.TestDescription;
 import org.hamcrest.Matchers;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
 import org.springframework.test.web.servlet.ResultActions;
 
+import javax.persistence.EntityManagerFactory;
+import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.restdocs.headers.HeaderDocumentation.*;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
@@ -47,6 +60,18 @@ public class EventControllerTests extends BaseControllerTest {
     @Autowired
     AppProperties appProperties;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EventExporter eventExporter;
+
     @Before
     public void setUp() {
         this.eventRepository.deleteAll();
@@ -137,6 +162,136 @@ public class EventControllerTests extends BaseControllerTest {
         ;
     }
 
+    @Test
+    @TestDescription("여러 이벤트를 한 번에 생성하고 항목별 결과를 받는 테스트")
+    public void createEvents() throws Exception {
+        //Given
+        EventDto valid = buildEventDto("Spring");
+        EventDto wrongPrices = buildEventDto("Wrong");
+        wrongPrices.setBasePrice(10000);
+        EventDto empty = new EventDto();
+        long before = this.eventRepository.count();
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/batch")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(true))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .accept(MediaTypes.HAL_JSON)
+                    .content(objectMapper.writeValueAsString(List.of(valid, wrongPrices, empty, valid))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventBatchResultList", Matchers.hasSize(4)))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[0].status").value(201))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[0].event.id").exists())
+                .andExpect(jsonPath("_embedded.eventBatchResultList[0].event._links.self").exists())
+                .andExpect(jsonPath("_embedded.eventBatchResultList[1].status").value(400))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[1].errors[0].code").exists())
+                .andExpect(jsonPath("_embedded.eventBatchResultList[2].status").value(400))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[3].status").value(201))
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("create-events-batch"))
+        ;
+        assertThat(this.eventRepository.count()).isEqualTo(before + 2);
+    }
+
+    @Test
+    @TestDescription("NDJSON 으로 여러 이벤트를 한 번에 생성하는 테스트")
+    public void createEventsFromNdjson() throws Exception {
+        //Given
+        String body = objectMapper.writeValueAsString(buildEventDto("first")) + "\n"
+                + objectMapper.writeValueAsString(buildEventDto("second")) + "\n";
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/batch")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(true))
+                    .contentType(EventController.NDJSON_VALUE)
+                    .accept(MediaTypes.HAL_JSON)
+                    .content(body))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventBatchResultList", Matchers.hasSize(2)))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[1].event.name").value("second"))
+        ;
+    }
+
+    @Test
+    @TestDescription("null 항목은 그 항목만 형식 오류로 받는 테스트")
+    public void createEvents_Null_Item() throws Exception {
+        //Given
+        String body = "[" + objectMapper.writeValueAsString(buildEventDto("first")) + ", null]";
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/batch")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(true))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .accept(MediaTypes.HAL_JSON)
+                    .content(body))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventBatchResultList[0].status").value(201))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[1].status").value(400))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[1].errors[0].code").value("wrongFormat"))
+        ;
+    }
+
+    @Test
+    @TestDescription("NDJSON 의 null 줄은 그 항목만 형식 오류로 받는 테스트")
+    public void createEventsFromNdjson_Null_Line() throws Exception {
+        //Given
+        String body = objectMapper.writeValueAsString(buildEventDto("first")) + "\n"
+                + "null\n"
+                + objectMapper.writeValueAsString(buildEventDto("third")) + "\n";
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/batch")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(true))
+                    .contentType(EventController.NDJSON_VALUE)
+                    .accept(MediaTypes.HAL_JSON)
+                    .content(body))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventBatchResultList", Matchers.hasSize(3)))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[1].status").value(400))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[1].errors[0].code").value("wrongFormat"))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[2].event.name").value("third"))
+        ;
+    }
+
+    @Test
+    @TestDescription("NDJSON 이 한도를 넘으면 나머지를 읽지 않고 400 응답받기")
+    public void createEventsFromNdjson_Too_Many() throws Exception {
+        //Given
+        String line = objectMapper.writeValueAsString(buildEventDto("many")) + "\n";
+        // 한도 뒤의 줄까지 읽으면 형식 오류가 난다
+        String body = line.repeat(appProperties.getEventBatchMaxSize() + 1) + "{not json\n";
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/batch")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(true))
+                    .contentType(EventController.NDJSON_VALUE)
+                    .accept(MediaTypes.HAL_JSON)
+                    .content(body))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("tooManyEvents"))
+        ;
+    }
+
+    private EventDto buildEventDto(String name) {
+        return EventDto.builder()
+                .name(name)
+                .description("REST API development")
+                .beginEnrollmentDateTime(LocalDateTime.of(2019, 9, 30, 15, 27))
+                .closeEnrollmentDateTime(LocalDateTime.of(2019, 10, 1, 15, 27))
+                .beginEventDateTime(LocalDateTime.of(2019, 10, 2, 15, 27))
+                .endEventDateTime(LocalDateTime.of(2019, 10, 3, 15, 27))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("경성대학교")
+                .build();
+    }
+
     private String getAccessToken(boolean needToCreateAccount) throws Exception {
         //Given
         if (needToCreateAccount) {
@@ -281,115 +436,1011 @@ public class EventControllerTests extends BaseControllerTest {
     }
 
     @Test
-    @TestDescription("기존의 이벤트를 하나 조회하기")
-    public void getEvent() throws Exception {
+    @TestDescription("30개의 이벤트를 커서로 10개씩 조회하기")
+    public void queryEventsByCursor() throws Exception {
         //Given
-        Account account = this.createAccount();
-        Event event = this.generateEvent(100, account);
+        IntStream.range(0, 30).forEach(this::generateEvent);
 
         //When & Then
-        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+        var firstPage = this.mockMvc.perform(get("/api/events")
+                    .param("after", "")
+                    .param("size", "10")
+                )
+                .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("name").exists())
-                .andExpect(jsonPath("id").exists())
+                .andExpect(jsonPath("_embedded.eventList", Matchers.hasSize(10)))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("totalElements").doesNotExist())
                 .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").doesNotExist())
                 .andExpect(jsonPath("_links.profile").exists())
-                .andDo(document("get-an-event"))
+                .andDo(document("query-events-cursor"))
+                .andReturn().getResponse().getContentAsString();
+
+        String next = JsonPath.read(firstPage, "_links.next.href");
+
+        this.mockMvc.perform(get(URI.create(next))
+                    .param("count", "true")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList", Matchers.hasSize(10)))
+                .andExpect(jsonPath("totalElements").value(30))
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").exists())
         ;
     }
 
     @Test
-    @TestDescription("없는 이벤트를 조회했을 때 404 응답받기")
-    public void getEvent404() throws Exception {
+    @TestDescription("30개의 이벤트를 마지막 페이지부터 커서로 10개씩 거꾸로 조회하기")
+    public void queryEventsByCursorBackward() throws Exception {
+        //Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
         //When & Then
-        this.mockMvc.perform(get("/api/events/11542"))
-                .andExpect(status().isNotFound())
+        var lastPage = this.mockMvc.perform(get("/api/events")
+                    .param("before", "")
+                    .param("size", "10")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[*].name").value(names(20, 30)))
+                .andExpect(jsonPath("_links.prev").exists())
+                .andExpect(jsonPath("_links.next").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        String prev = JsonPath.read(lastPage, "_links.prev.href");
+
+        var middlePage = this.mockMvc.perform(get(URI.create(prev)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[*].name").value(names(10, 20)))
+                .andExpect(jsonPath("_links.prev").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        this.mockMvc.perform(get(URI.create(JsonPath.read(middlePage, "_links.prev.href"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[*].name").value(names(0, 10)))
+                .andExpect(jsonPath("_links.prev").doesNotExist())
+                .andExpect(jsonPath("_links.next").exists());
+
+        this.mockMvc.perform(get(URI.create(JsonPath.read(middlePage, "_links.next.href"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[*].name").value(names(20, 30)))
+                .andExpect(jsonPath("_links.prev").exists())
+                .andExpect(jsonPath("_links.next").doesNotExist());
+    }
+
+    @Test
+    @TestDescription("after 와 before 를 함께 보내면 400 응답받기")
+    public void queryEventsByCursor_Both_Directions() throws Exception {
+        this.mockMvc.perform(get("/api/events")
+                    .param("after", "")
+                    .param("before", "")
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("wrongCursor"))
         ;
     }
 
     @Test
-    @TestDescription("이벤트를 정상적으로 수정하기")
-    public void updateEvent() throws Exception {
-        //Given
-        Account account = this.createAccount();
-        Event event = this.generateEvent(200, account);
+    @TestDescription("커서로 조회할 때 id 가 아닌 정렬을 보내면 400 응답받기")
+    public void queryEventsByCursor_Wrong_Sort() throws Exception {
+        this.mockMvc.perform(get("/api/events")
+                    .param("after", "")
+                    .param("sort", "name,ASC")
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("wrongSort"))
+        ;
+    }
 
-        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
-        String eventName = "Updated Event";
-        eventDto.setName(eventName);
+    @Test
+    @TestDescription("잘못된 커서로 조회했을 때 에러가 발생하는 테스트")
+    public void queryEventsByCursor_Bad_Request() throws Exception {
+        this.mockMvc.perform(get("/api/events")
+                    .param("after", "not-a-cursor")
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("wrongCursor"))
+        ;
+    }
+
+    @Test
+    @TestDescription("상태, 가격, 날짜 조건으로 이벤트 목록을 걸러서 조회하기")
+    public void queryEventsWithFilter() throws Exception {
+        //Given
+        IntStream.range(0, 30).forEach(this::generatePublishedEveryThird);
 
         //When & Then
-        this.mockMvc.perform(put("/api/events/{id}", event.getId())
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(false))
-                    .contentType(MediaType.APPLICATION_JSON_UTF8)
-                    .content(this.objectMapper.writeValueAsString(eventDto)))
+        this.mockMvc.perform(get("/api/events")
+                    .param("eventStatus", "PUBLISHED")
+                    .param("basePriceFrom", "100")
+                    .param("beginEventFrom", "2019-10-01T00:00:00")
+                    .param("sort", "name,ASC")
+                )
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("name").value(eventName))
-                .andExpect(jsonPath("_links.self").exists())
-                .andDo(document("update-event"))
+                .andExpect(jsonPath("page.totalElements").value(6))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event12"))
+                .andExpect(jsonPath("_embedded.eventList[*].eventStatus", Matchers.everyItem(Matchers.is("PUBLISHED"))))
         ;
     }
 
     @Test
-    @TestDescription("입력값이 비어있는 경우에 이벤트 수정 실패")
-    public void updateEvent400_Empty() throws Exception {
+    @TestDescription("커서로 조회할 때도 조건이 다음 페이지까지 유지된다")
+    public void queryEventsByCursorWithFilter() throws Exception {
         //Given
-        Event event = this.generateEvent(200);
-
-        EventDto eventDto = new EventDto();
+        IntStream.range(0, 30).forEach(this::generatePublishedEveryThird);
 
         //When & Then
-        this.mockMvc.perform(put("/api/events/{id}", event.getId())
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(true))
-                .contentType(MediaType.APPLICATION_JSON_UTF8)
-                .content(this.objectMapper.writeValueAsString(eventDto)))
+        // 다음 링크는 요청 URI 의 쿼리 문자열을 이어받으므로 조건을 URI 에 담아 보낸다
+        var firstPage = this.mockMvc.perform(get("/api/events?after=&size=4&eventStatus=PUBLISHED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList", Matchers.hasSize(4)))
+                .andExpect(jsonPath("_links.next").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        String next = JsonPath.read(firstPage, "_links.next.href");
+
+        this.mockMvc.perform(get(URI.create(next))
+                    .param("count", "true")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList", Matchers.hasSize(4)))
+                .andExpect(jsonPath("_embedded.eventList[*].eventStatus", Matchers.everyItem(Matchers.is("PUBLISHED"))))
+                .andExpect(jsonPath("totalElements").value(10))
+        ;
+    }
+
+    @Test
+    @TestDescription("허용하지 않은 필드로 정렬하면 에러가 발생하는 테스트")
+    public void queryEventsWithWrongSort() throws Exception {
+        this.mockMvc.perform(get("/api/events")
+                    .param("sort", "description,ASC")
+                )
                 .andDo(print())
                 .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("wrongSort"))
         ;
     }
 
     @Test
-    @TestDescription("입력된 값이 잘못된 경우에 이벤트 수정 실패")
-    public void updateEvent400_Wrong() throws Exception {
+    @TestDescription("이름, 설명, 장소에서 검색어로 이벤트를 찾기")
+    public void searchEvents() throws Exception {
         //Given
-        Event event = this.generateEvent(200);
-
-        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
-        eventDto.setBasePrice(20000);
-        eventDto.setMaxPrice(1000);
+        IntStream.range(0, 10).forEach(i -> {
+            Event event = generateEvent(i);
+            if (i < 3) {
+                event.setName("스프링 세미나 " + i);
+            } else if (i < 5) {
+                event.setDescription("JPA 스터디");
+            }
+            this.eventRepository.save(event);
+        });
 
         //When & Then
-        this.mockMvc.perform(put("/api/events/{id}", event.getId())
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(true))
-                .contentType(MediaType.APPLICATION_JSON_UTF8)
-                .content(this.objectMapper.writeValueAsString(eventDto)))
+        this.mockMvc.perform(get("/api/events")
+                    .param("q", "스프링")
+                    .param("size", "2")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(3))
+                .andExpect(jsonPath("_embedded.eventList", Matchers.hasSize(2)))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value(Matchers.startsWith("스프링 세미나")))
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("search-events"))
+        ;
+
+        this.mockMvc.perform(get("/api/events")
+                    .param("q", "jpa")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(2))
+                .andExpect(jsonPath("_embedded.eventList[*].description", Matchers.everyItem(Matchers.is("JPA 스터디"))))
+        ;
+    }
+
+    @Test
+    @TestDescription("빈 검색어로 검색하면 에러가 발생하는 테스트")
+    public void searchEvents_Bad_Request() throws Exception {
+        this.mockMvc.perform(get("/api/events")
+                    .param("q", " ")
+                )
                 .andDo(print())
                 .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("wrongQuery"))
         ;
     }
 
     @Test
-    @TestDescription("존재하지 않는 이벤트 수정 실패")
-    public void updateEvent404() throws Exception {
+    @TestDescription("검색어와 정렬이나 다른 조건을 함께 넘기면 400 응답받기")
+    public void searchEvents_With_Sort_Or_Search() throws Exception {
+        this.mockMvc.perform(get("/api/events")
+                    .param("q", "스프링")
+                    .param("sort", "name,DESC")
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("wrongSort"))
+        ;
+
+        this.mockMvc.perform(get("/api/events")
+                    .param("q", "스프링")
+                    .param("free", "true")
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("wrongQuery"))
+        ;
+    }
+
+    @Test
+    @TestDescription("검색어와 커서를 함께 넘기면 400 응답받기")
+    public void searchEvents_With_Cursor() throws Exception {
         //Given
-        Event event = this.generateEvent(200);
-        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        Event event = generateEvent(1);
 
         //When & Then
-        this.mockMvc.perform(put("/api/events/1212312")
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(true))
-                .contentType(MediaType.APPLICATION_JSON_UTF8)
-                .content(this.objectMapper.writeValueAsString(eventDto)))
-                .andDo(print())
-                .andExpect(status().isNotFound())
+        this.mockMvc.perform(get("/api/events")
+                    .param("q", "스프링")
+                    .param("after", EventCursor.encode(event.getId()))
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("wrongCursor"))
+        ;
+
+        this.mockMvc.perform(get("/api/events")
+                    .param("q", "스프링")
+                    .param("before", EventCursor.encode(event.getId()))
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("wrongCursor"))
         ;
     }
 
-    private Event generateEvent(int index, Account account) {
-        Event event = buildEvent(index);
-        event.setManager(account);
-        return this.eventRepository.save(event);
+    @Test
+    @TestDescription("이벤트 목록 조회는 페이지 크기와 관계없이 정해진 수의 쿼리만 실행한다")
+    public void queryEventsStatementCount() throws Exception {
+        //Given
+        IntStream.range(0, 20).forEach(i -> generateEvent(i, generateManager(i)));
+        Statistics statistics = statistics();
+
+        //When
+        this.mockMvc.perform(get("/api/events")
+                    .param("page", "0")
+                    .param("size", "20")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[0].manager.id").exists());
+
+        //Then
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @TestDescription("이벤트 하나를 조회할 때 매니저를 함께 가져온다")
+    public void getEventStatementCount() throws Exception {
+        //Given
+        Event event = this.generateEvent(100, generateManager(100));
+        Statistics statistics = statistics();
+
+        //When
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("manager.id").exists());
+
+        //Then
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    @TestDescription("이벤트 조회 요청마다 SQL 수와 DB 시간, 직렬화 시간이 핸들러별로 기록된다")
+    public void getEventRequestMetrics() throws Exception {
+        //Given
+        Event event = this.generateEvent(100, generateManager(100));
+        this.entityManagerFactory.getCache().evictAll();
+        DistributionSummary before = meterRegistry.find("http.server.requests.statements")
+                .tag("handler", "EventController.getEvent").summary();
+        long count = before == null ? 0 : before.count();
+
+        //When
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+
+        //Then
+        DistributionSummary statements = meterRegistry.get("http.server.requests.statements")
+                .tag("handler", "EventController.getEvent").summary();
+        assertThat(statements.count()).isEqualTo(count + 1);
+        assertThat(statements.max()).isPositive();
+        assertThat(meterRegistry.get("http.server.requests.db").tag("handler", "EventController.getEvent").timer().count())
+                .isEqualTo(count + 1);
+        assertThat(meterRegistry.get("http.server.requests.serialization").tag("handler", "EventController.getEvent").timer()
+                .max(TimeUnit.NANOSECONDS)).isPositive();
+    }
+
+    @Test
+    @TestDescription("EventValidator 가 거절한 값은 필드와 코드별로 집계된다")
+    public void validationRejectionMetrics() throws Exception {
+        //Given
+        EventDto eventDto = buildEventDto("Spring");
+        eventDto.setBasePrice(10000);
+        double before = meterRegistry.counter("event.validation.rejections", "field", "global", "code", "wrongPrices").count();
+
+        //When
+        this.mockMvc.perform(post("/api/events")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(true))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isBadRequest());
+
+        //Then
+        assertThat(meterRegistry.counter("event.validation.rejections", "field", "global", "code", "wrongPrices").count())
+                .isEqualTo(before + 1);
+    }
+
+    @Test
+    @TestDescription("한 번 조회한 이벤트는 2차 캐시에서 가져온다")
+    public void getEventFromSecondLevelCache() throws Exception {
+        //Given
+        Event event = this.generateEvent(100, generateManager(100));
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+        Statistics statistics = statistics();
+
+        //When
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("event100"));
+
+        //Then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    @TestDescription("매니저가 이벤트를 조회할 때 로그인한 계정을 데이터베이스에서 읽지 않는다")
+    public void getEventAsManagerWithoutAccountLookup() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(100, account);
+        String accessToken = getAccessToken(false);
+        this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk());
+        Statistics statistics = statistics();
+
+        //When
+        this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_links.update-event").exists());
+
+        //Then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @TestDescription("다시 조회한 이벤트는 캐시한 본문에 요청별 링크만 붙여 응답한다")
+    public void getEventFromRepresentationCache() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(100, account);
+        String accessToken = getAccessToken(false);
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+        double hits = representationCacheHits();
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaTypes.HAL_JSON_UTF8))
+                .andExpect(jsonPath("name").value("event100"))
+                .andExpect(jsonPath("manager.id").value(account.getId()))
+                .andExpect(jsonPath("_links.self.href").value(Matchers.endsWith("/api/events/" + event.getId())))
+                .andExpect(jsonPath("_links.profile").exists())
+                .andExpect(jsonPath("_links.update-event").exists());
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.update-event").doesNotExist());
+
+        assertThat(representationCacheHits()).isEqualTo(hits + 2);
+    }
+
+    @Test
+    @TestDescription("수정한 이벤트는 캐시한 본문 대신 새 본문으로 응답한다")
+    public void updateEventEvictsRepresentation() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(jsonPath("name").value("event200"));
+
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setName("Updated Event");
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(false))
+                    .header(HttpHeaders.IF_MATCH, EventETags.of(event.getVersion(), true))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk());
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("Updated Event"))
+                .andExpect(jsonPath("version").value(event.getVersion() + 1));
+        this.mockMvc.perform(get("/api/events").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("Updated Event"))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists());
+    }
+
+    private double representationCacheHits() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "events.representations")
+                .tag("result", "hit")
+                .functionCounter().count();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+    private Account generateManager(int index) {
+        Account account = Account.builder()
+                .email("manager" + index + "@email.com")
+                .password("manager")
+                .roles(Set.of(AccountRole.USER))
+                .build();
+        return this.accountRepository.save(account);
+    }
+
+    @Test
+    @TestDescription("모든 이벤트를 NDJSON 으로 내보내기")
+    public void exportEvents() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        IntStream.range(0, 30).forEach(i -> generateEvent(i, account));
+
+        //When
+        String body = this.mockMvc.perform(get("/api/events/export")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(false)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(EventController.NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString();
+
+        //Then
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(30);
+        assertThat(objectMapper.readTree(lines[0]).get("manager").get("id").asInt()).isEqualTo(account.getId());
+    }
+
+    @Test
+    @TestDescription("로그인하지 않으면 이벤트를 내보내지 못하기")
+    public void exportEvents401() throws Exception {
+        this.mockMvc.perform(get("/api/events/export"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @TestDescription("동시에 도는 내보내기가 다 찼으면 503 응답받기")
+    public void exportEvents503() throws Exception {
+        //Given
+        String accessToken = getAccessToken(true);
+        int acquired = 0;
+        while (this.eventExporter.tryAcquire()) {
+            acquired++;
+        }
+
+        //When & Then
+        try {
+            this.mockMvc.perform(get("/api/events/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        } finally {
+            for (int i = 0; i < acquired; i++) {
+                this.eventExporter.release();
+            }
+        }
+    }
+
+    @Test
+    @TestDescription("내보내기가 시간을 넘기면 마지막 줄에 오류를 쓰고 끝내기")
+    public void exportEventsTimeout() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        IntStream.range(0, 3).forEach(i -> generateEvent(i, account));
+        Duration timeout = this.appProperties.getEventExportTimeout();
+        this.appProperties.setEventExportTimeout(Duration.ZERO);
+
+        //When
+        String body;
+        try {
+            body = this.mockMvc.perform(get("/api/events/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(false)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+        } finally {
+            this.appProperties.setEventExportTimeout(timeout);
+        }
+
+        //Then
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(1);
+        assertThat(objectMapper.readTree(lines[0]).get("error").asText()).isEqualTo("exportTimeout");
+    }
+
+    @Test
+    @TestDescription("기존의 이벤트를 하나 조회하기")
+    public void getEvent() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(100, account);
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").exists())
+                .andExpect(jsonPath("id").exists())
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("get-an-event"))
+        ;
+    }
+
+    @Test
+    @TestDescription("변경되지 않은 이벤트를 다시 조회하면 304 응답받기")
+    public void getEventNotModified() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(100, account);
+        String eTag = this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+        ;
+    }
+
+    @Test
+    @TestDescription("변경되지 않은 이벤트 목록을 다시 조회하면 304 응답받기")
+    public void queryEventsNotModified() throws Exception {
+        //Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+        String eTag = this.mockMvc.perform(get("/api/events").param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events").param("size", "10")
+                    .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+        ;
+    }
+
+    @Test
+    @TestDescription("없는 이벤트를 조회했을 때 404 응답받기")
+    public void getEvent404() throws Exception {
+        //When & Then
+        this.mockMvc.perform(get("/api/events/11542"))
+                .andExpect(status().isNotFound())
+        ;
+    }
+
+    @Test
+    @TestDescription("이벤트를 정상적으로 수정하기")
+    public void updateEvent() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        String eventName = "Updated Event";
+        eventDto.setName(eventName);
+
+        //When & Then
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(false))
+                    .header(HttpHeaders.IF_MATCH, EventETags.of(event.getVersion(), true))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value(eventName))
+                .andExpect(jsonPath("_links.self").exists())
+                .andDo(document("update-event"))
+        ;
+    }
+
+    @Test
+    @TestDescription("작성 중인 이벤트를 공개하기")
+    public void publishEvent() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+        String accessToken = getAccessToken(false);
+        String eTag = this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_links.publish-event").exists())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/{id}/publish", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .accept(MediaTypes.HAL_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (event.getVersion() + 1) + "-manager\""))
+                .andExpect(jsonPath("eventStatus").value(EventStatus.PUBLISHED.name()))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.update-event").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("publish-event",
+                        links(
+                                linkWithRel("self").description("link to self"),
+                                linkWithRel("update-event").description("link to update the event"),
+                                linkWithRel("profile").description("link to profile")
+                        )
+                ))
+        ;
+
+        this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("eventStatus").value(EventStatus.PUBLISHED.name()))
+                .andExpect(jsonPath("_links.publish-event").doesNotExist());
+    }
+
+    @Test
+    @TestDescription("이미 공개한 이벤트를 다시 공개하면 400 응답받기")
+    public void publishEvent400_Already_Published() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+        event.setEventStatus(EventStatus.BEGAN_ENROLLMENT);
+        this.eventRepository.save(event);
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/{id}/publish", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(false)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("alreadyPublished"))
+        ;
+    }
+
+    @Test
+    @TestDescription("관리자가 아니면 이벤트를 공개하지 못하기")
+    public void publishEvent401_Not_Manager() throws Exception {
+        //Given
+        Event event = this.generateEvent(200, generateManager(200));
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/{id}/publish", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(true)))
+                .andExpect(status().isUnauthorized())
+        ;
+        assertThat(this.eventRepository.findById(event.getId()).orElseThrow().getEventStatus()).isEqualTo(EventStatus.DRAFT);
+    }
+
+    @Test
+    @TestDescription("If-Match 가 현재 버전과 다르면 이벤트 수정 실패")
+    public void updateEvent412_Stale_If_Match() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setName("Updated Event");
+
+        //When & Then
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(false))
+                    .header(HttpHeaders.IF_MATCH, "\"" + (event.getVersion() + 1) + "-manager\"")
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + event.getVersion() + "-manager\""))
+                .andExpect(jsonPath("content[0].code").value("staleVersion"))
+                .andExpect(jsonPath("_links.event").exists())
+        ;
+    }
+
+    @Test
+    @TestDescription("읽은 뒤 다른 요청이 먼저 수정했으면 덮어쓰지 않고 409 응답받기")
+    public void updateEvent409_Concurrent_Update() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+        // 다른 인스턴스의 수정처럼 2차 캐시를 거치지 않고 바꾼다
+        this.jdbcTemplate.update("update event set name = ?, version = version + 1 where id = ?", "Other Event", event.getId());
+
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setName("Updated Event");
+
+        //When & Then
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(false))
+                    .header(HttpHeaders.IF_MATCH, EventETags.of(event.getVersion(), true))
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (event.getVersion() + 1) + "-manager\""))
+                .andExpect(jsonPath("content[0].code").value("concurrentUpdate"))
+                .andExpect(jsonPath("_links.event").exists())
+                .andDo(document("update-event-conflict"))
+        ;
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("Other Event"))
+                .andExpect(jsonPath("version").value(event.getVersion() + 1));
+    }
+
+    @Test
+    @TestDescription("If-Match 없이 수정하면 428 응답받기")
+    public void updateEvent428_No_If_Match() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        String accessToken = getAccessToken(false);
+
+        //When & Then
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andDo(print())
+                .andExpect(status().isPreconditionRequired())
+                .andExpect(jsonPath("content[0].code").value("preconditionRequired"))
+                .andExpect(jsonPath("_links.event").exists())
+        ;
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .contentType(EventController.MERGE_PATCH_VALUE)
+                    .content("{\"name\":\"Patched Event\"}"))
+                .andExpect(status().isPreconditionRequired())
+        ;
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(jsonPath("name").value(event.getName()))
+                .andExpect(jsonPath("version").value(event.getVersion()));
+    }
+
+    @Test
+    @TestDescription("같은 버전을 읽은 두 클라이언트가 수정하면 나중 요청은 412 응답받기")
+    public void updateEvent412_Same_Read() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+        String accessToken = getAccessToken(false);
+        String eTag = this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setName("First Client");
+
+        //When
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk());
+
+        //Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(EventController.MERGE_PATCH_VALUE)
+                    .content("{\"name\":\"Second Client\"}"))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("content[0].code").value("staleVersion"))
+        ;
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(jsonPath("name").value("First Client"));
+    }
+
+    @Test
+    @TestDescription("보낸 필드만 바꾸는 부분 수정하기")
+    public void patchEvent() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+
+        //When & Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(false))
+                    .header(HttpHeaders.IF_MATCH, "\"" + event.getVersion() + "-manager\"")
+                    .contentType(EventController.MERGE_PATCH_VALUE)
+                    .content("{\"name\":\"Patched Event\",\"location\":null}"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (event.getVersion() + 1) + "-manager\""))
+                .andExpect(jsonPath("name").value("Patched Event"))
+                .andExpect(jsonPath("description").value("test event"))
+                .andExpect(jsonPath("offline").value(false))
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("patch-event"))
+        ;
+    }
+
+    @Test
+    @TestDescription("부분 수정은 바뀐 컬럼만 저장한다")
+    public void patchEventUpdatesChangedColumnsOnly() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+        // 버전은 그대로 두고 설명만 바꾼다. 2차 캐시에는 이전 설명이 남아 있다
+        this.jdbcTemplate.update("update event set description = ? where id = ?", "changed elsewhere", event.getId());
+
+        //When
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(false))
+                    .header(HttpHeaders.IF_MATCH, EventETags.of(event.getVersion(), true))
+                    .contentType(EventController.MERGE_PATCH_VALUE)
+                    .content("{\"name\":\"Patched Event\"}"))
+                .andExpect(status().isOk());
+
+        //Then
+        assertThat(this.jdbcTemplate.queryForObject("select description from event where id = ?", String.class, event.getId()))
+                .isEqualTo("changed elsewhere");
+    }
+
+    @Test
+    @TestDescription("모르는 필드나 잘못된 값으로 부분 수정하면 400 응답받기")
+    public void patchEvent400() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+        String accessToken = getAccessToken(false);
+
+        //When & Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .header(HttpHeaders.IF_MATCH, EventETags.of(event.getVersion(), true))
+                    .contentType(EventController.MERGE_PATCH_VALUE)
+                    .content("{\"unknown\":1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("wrongFormat"));
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .header(HttpHeaders.IF_MATCH, EventETags.of(event.getVersion(), true))
+                    .contentType(EventController.MERGE_PATCH_VALUE)
+                    .content("{\"basePrice\":20000}"))
+                .andExpect(status().isBadRequest());
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .header(HttpHeaders.IF_MATCH, EventETags.of(event.getVersion(), true))
+                    .contentType(EventController.MERGE_PATCH_VALUE)
+                    .content("{\"name\":null}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @TestDescription("비울 수 없는 숫자 필드에 null 을 보내면 0 으로 저장하지 않고 400 응답받기")
+    public void patchEvent400_Null_Primitive() throws Exception {
+        //Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+
+        //When & Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(false))
+                    .header(HttpHeaders.IF_MATCH, EventETags.of(event.getVersion(), true))
+                    .contentType(EventController.MERGE_PATCH_VALUE)
+                    .content("{\"basePrice\":null,\"limitOfEnrollment\":null}"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].field").value("basePrice"))
+                .andExpect(jsonPath("content[0].code").value("wrongValue"))
+                .andExpect(jsonPath("content[1].field").value("limitOfEnrollment"))
+        ;
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(jsonPath("basePrice").value(event.getBasePrice()))
+                .andExpect(jsonPath("limitOfEnrollment").value(event.getLimitOfEnrollment()));
+    }
+
+    @Test
+    @TestDescription("입력값이 비어있는 경우에 이벤트 수정 실패")
+    public void updateEvent400_Empty() throws Exception {
+        //Given
+        Event event = this.generateEvent(200);
+
+        EventDto eventDto = new EventDto();
+
+        //When & Then
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(true))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+        ;
+    }
+
+    @Test
+    @TestDescription("입력된 값이 잘못된 경우에 이벤트 수정 실패")
+    public void updateEvent400_Wrong() throws Exception {
+        //Given
+        Event event = this.generateEvent(200);
+
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setBasePrice(20000);
+        eventDto.setMaxPrice(1000);
+
+        //When & Then
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(true))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+        ;
+    }
+
+    @Test
+    @TestDescription("존재하지 않는 이벤트 수정 실패")
+    public void updateEvent404() throws Exception {
+        //Given
+        Event event = this.generateEvent(200);
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+
+        //When & Then
+        this.mockMvc.perform(put("/api/events/1212312")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken(true))
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andDo(print())
+                .andExpect(status().isNotFound())
+        ;
+    }
+
+    private List<String> names(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "event" + i).collect(Collectors.toList());
+    }
+
+    private Event generateEvent(int index, Account account) {
+        Event event = buildEvent(index);
+        event.setManager(account);
+        return this.eventRepository.save(event);
+    }
+
+    private void generatePublishedEveryThird(int index) {
+        Event event = generateEvent(index);
+        if (index % 3 == 0) {
+            event.setEventStatus(EventStatus.PUBLISHED);
+            event.setBasePrice(index * 10);
+            this.eventRepository.save(event);
+        }
     }
 
     private Event generateEvent(int index) {
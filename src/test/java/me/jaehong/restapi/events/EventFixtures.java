@@ -0,0 +1,54 @@
+package me.jaehong.restapi.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * 신청 테스트와 벤치마크가 함께 쓰는 이벤트. 등록은 {@link #BEGIN_ENROLLMENT} 부터 하루, 이벤트는 그 다음 날부터 하루 동안 한다.
+ * 빌더를 돌려주므로 필요한 값만 바꿔서 쓴다.
+ */
+public final class EventFixtures {
+
+    public static final LocalDateTime BEGIN_ENROLLMENT = LocalDateTime.of(2019, 9, 30, 15, 27);
+
+    private EventFixtures() {
+    }
+
+    public static Event.EventBuilder event(String name) {
+        return event(name, BEGIN_ENROLLMENT);
+    }
+
+    public static Event.EventBuilder event(String name, LocalDateTime beginEnrollment) {
+        return Event.builder()
+                .name(name)
+                .description("test event")
+                .beginEnrollmentDateTime(beginEnrollment)
+                .closeEnrollmentDateTime(beginEnrollment.plusDays(1))
+                .beginEventDateTime(beginEnrollment.plusDays(2))
+                .endEventDateTime(beginEnrollment.plusDays(3))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("경성대학교")
+                .free(false)
+                .offline(true)
+                .eventStatus(EventStatus.DRAFT);
+    }
+
+    public static EventDto.EventDtoBuilder eventDto(String name) {
+        return eventDto(name, BEGIN_ENROLLMENT);
+    }
+
+    public static EventDto.EventDtoBuilder eventDto(String name, LocalDateTime beginEnrollment) {
+        return EventDto.builder()
+                .name(name)
+                .description("REST API development")
+                .beginEnrollmentDateTime(beginEnrollment)
+                .closeEnrollmentDateTime(beginEnrollment.plusDays(1))
+                .beginEventDateTime(beginEnrollment.plusDays(2))
+                .endEventDateTime(beginEnrollment.plusDays(3))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("경성대학교");
+    }
+}
@@ -0,0 +1,171 @@
+package me.jaehong.restapi.events;
+
+import me.jaehong.restapi.accounts.Account;
+import me.jaehong.restapi.accounts.AccountRole;
+import me.jaehong.restapi.accounts.AccountService;
+import me.jaehong.restapi.common.AppProperties;
+import me.jaehong.restapi.common.BaseControllerTest;
+import me.jaehong.restapi.common.TestDescription;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class EventLifecycleTest extends BaseControllerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2019, 10, 10, 12, 0);
+
+    @Autowired
+    EventLifecycle eventLifecycle;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AppProperties appProperties;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private Account manager;
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+        this.manager = this.accountService.saveAccountIfAbsent(Account.builder()
+                .email("lifecycle@email.com")
+                .password("lifecycle")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+    }
+
+    @After
+    public void tearDown() {
+        this.jdbcTemplate.update("delete from scheduler_lock where name = ?", EventLifecycle.LOCK_NAME);
+    }
+
+    @Test
+    @TestDescription("공개한 이벤트를 날짜에 맞는 상태로 한 번에 옮기기")
+    public void advance() {
+        //Given
+        Event draft = generateEvent(EventStatus.DRAFT, NOW.minusDays(30));
+        Event upcoming = generateEvent(EventStatus.PUBLISHED, NOW.plusDays(1));
+        Event enrolling = generateEvent(EventStatus.PUBLISHED, NOW.minusHours(1));
+        Event closed = generateEvent(EventStatus.BEGAN_ENROLLMENT, NOW.minusDays(1).minusHours(1));
+        Event started = generateEvent(EventStatus.CLOSED_ENROLLMENT, NOW.minusDays(2).minusHours(1));
+        Event ended = generateEvent(EventStatus.PUBLISHED, NOW.minusDays(30));
+
+        //When
+        Map<EventStatus, Integer> transitions = this.eventLifecycle.advance(NOW);
+
+        //Then
+        assertThat(transitions).containsOnly(
+                Map.entry(EventStatus.BEGAN_ENROLLMENT, 1),
+                Map.entry(EventStatus.CLOSED_ENROLLMENT, 1),
+                Map.entry(EventStatus.STARTED, 1),
+                Map.entry(EventStatus.ENDED, 1));
+        assertThat(statusOf(draft)).isEqualTo(EventStatus.DRAFT);
+        assertThat(statusOf(upcoming)).isEqualTo(EventStatus.PUBLISHED);
+        assertThat(statusOf(enrolling)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+        assertThat(statusOf(closed)).isEqualTo(EventStatus.CLOSED_ENROLLMENT);
+        assertThat(statusOf(started)).isEqualTo(EventStatus.STARTED);
+        assertThat(statusOf(ended)).isEqualTo(EventStatus.ENDED);
+        assertThat(this.eventRepository.findById(ended.getId()).orElseThrow().getVersion())
+                .isEqualTo(ended.getVersion() + 1);
+        assertThat(this.eventLifecycle.advance(NOW)).isEmpty();
+    }
+
+    @Test
+    @TestDescription("묶음 크기보다 많은 이벤트를 여러 번에 나눠 모두 옮기기")
+    public void advanceInBatches() {
+        //Given
+        IntStream.range(0, 5).forEach(i -> generateEvent(EventStatus.PUBLISHED, NOW.minusDays(30)));
+        int batchSize = this.appProperties.getEventLifecycleBatchSize();
+        this.appProperties.setEventLifecycleBatchSize(2);
+
+        //When
+        Map<EventStatus, Integer> transitions;
+        try {
+            transitions = this.eventLifecycle.advance(NOW);
+        } finally {
+            this.appProperties.setEventLifecycleBatchSize(batchSize);
+        }
+
+        //Then
+        assertThat(transitions).containsOnly(Map.entry(EventStatus.ENDED, 5));
+    }
+
+    @Test
+    @TestDescription("상태를 옮긴 이벤트는 캐시가 아닌 새 상태로 응답받기")
+    public void advanceEvictsCachedEvent() throws Exception {
+        //Given
+        Event event = generateEvent(EventStatus.PUBLISHED, NOW.minusDays(30));
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(jsonPath("eventStatus").value(EventStatus.PUBLISHED.name()));
+
+        //When
+        this.eventLifecycle.advance(NOW);
+
+        //Then
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("eventStatus").value(EventStatus.ENDED.name()));
+    }
+
+    @Test
+    @TestDescription("다른 인스턴스가 임대 중이면 이벤트를 옮기지 않기")
+    public void advance_Not_Leader() {
+        //Given
+        Event ended = generateEvent(EventStatus.PUBLISHED, NOW.minusDays(30));
+        this.jdbcTemplate.update("delete from scheduler_lock where name = ?", EventLifecycle.LOCK_NAME);
+        this.jdbcTemplate.update("insert into scheduler_lock (name, locked_until, locked_by) values (?, ?, ?)",
+                EventLifecycle.LOCK_NAME, Timestamp.valueOf(LocalDateTime.now().plusMinutes(5)), "other");
+
+        //When
+        Map<EventStatus, Integer> transitions = this.eventLifecycle.advance(NOW);
+
+        //Then
+        assertThat(transitions).isEmpty();
+        assertThat(statusOf(ended)).isEqualTo(EventStatus.PUBLISHED);
+    }
+
+    private EventStatus statusOf(Event event) {
+        return this.eventRepository.findById(event.getId()).orElseThrow().getEventStatus();
+    }
+
+    /**
+     * 등록은 {@code beginEnrollment} 부터 하루, 이벤트는 그 다음 날부터 하루 동안 한다
+     */
+    private Event generateEvent(EventStatus eventStatus, LocalDateTime beginEnrollment) {
+        Event event = Event.builder()
+                .name("lifecycle")
+                .description("test event")
+                .beginEnrollmentDateTime(beginEnrollment)
+                .closeEnrollmentDateTime(beginEnrollment.plusDays(1))
+                .beginEventDateTime(beginEnrollment.plusDays(2))
+                .endEventDateTime(beginEnrollment.plusDays(3))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("경성대학교")
+                .eventStatus(eventStatus)
+                .manager(this.manager)
+                .build();
+        return this.eventRepository.save(event);
+    }
+}
@@ -0,0 +1,84 @@
+package me.jaehong.restapi.events;
+
+import org.junit.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventMapperTest {
+
+    private final EventMapper eventMapper = new EventMapper();
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    public void toEvent() {
+        //Given
+        EventDto eventDto = buildEventDto();
+
+        //When
+        Event event = eventMapper.toEvent(eventDto);
+
+        //Then
+        assertThat(event).isEqualToComparingFieldByField(modelMapper.map(eventDto, Event.class));
+    }
+
+    @Test
+    public void update() {
+        //Given
+        EventDto eventDto = buildEventDto();
+        eventDto.setLocation(null);
+        Event event = Event.builder()
+                .id(10)
+                .name("old")
+                .location("강남")
+                .free(true)
+                .eventStatus(EventStatus.PUBLISHED)
+                .build();
+        Event expected = Event.builder()
+                .id(10)
+                .name("old")
+                .location("강남")
+                .free(true)
+                .eventStatus(EventStatus.PUBLISHED)
+                .build();
+
+        //When
+        eventMapper.update(eventDto, event);
+        modelMapper.map(eventDto, expected);
+
+        //Then
+        assertThat(event).isEqualToComparingFieldByField(expected);
+        assertThat(event.getLocation()).isNull();
+        assertThat(event.getId()).isEqualTo(10);
+    }
+
+    @Test
+    public void toEventDto() {
+        //Given
+        Event event = eventMapper.toEvent(buildEventDto());
+
+        //When
+        EventDto eventDto = eventMapper.toEventDto(event);
+
+        //Then
+        assertThat(eventDto).isEqualTo(modelMapper.map(event, EventDto.class));
+    }
+
+    private EventDto buildEventDto() {
+        return EventDto.builder()
+                .name("Spring")
+                .description("REST API development")
+                .beginEnrollmentDateTime(LocalDateTime.of(2019, 9, 30, 15, 27))
+                .closeEnrollmentDateTime(LocalDateTime.of(2019, 10, 1, 15, 27))
+                .beginEventDateTime(LocalDateTime.of(2019, 10, 2, 15, 27))
+                .endEventDateTime(LocalDateTime.of(2019, 10, 3, 15, 27))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("경성대학교")
+                .build();
+    }
+}
@@ -0,0 +1,182 @@
+package me.jaehong.restapi.events;
+
+import me.jaehong.restapi.accounts.Account;
+import me.jaehong.restapi.accounts.AccountRole;
+import me.jaehong.restapi.accounts.AccountService;
+import me.jaehong.restapi.common.BaseControllerTest;
+import me.jaehong.restapi.common.TestDescription;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// 풀을 쉽게 채울 수 있게 작게 잡는다. 대기열이 없으면 앞 요청의 작업자가 풀로 돌아가기 전에 다음 요청이 거절될 수 있다
+@TestPropertySource(properties = {
+        "my-app.event-query-mode=async",
+        "my-app.event-query-threads=1",
+        "my-app.event-query-queue-capacity=1"
+})
+public class EventQueryAsyncTest extends BaseControllerTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    EventQueryExecutor eventQueryExecutor;
+
+    private Account manager;
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+        this.manager = this.accountService.saveAccountIfAbsent(Account.builder()
+                .email("async@email.com")
+                .password("async")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+    }
+
+    @Test
+    @TestDescription("비동기 모드에서 이벤트 목록을 조회 풀에서 읽어 응답하기")
+    public void queryEvents() throws Exception {
+        //Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        //When & Then
+        performAsync(get("/api/events").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(30))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.next").exists());
+    }
+
+    @Test
+    @TestDescription("비동기 모드에서 커서로 이벤트 목록을 조회하기")
+    public void queryEventsByCursor() throws Exception {
+        //Given
+        IntStream.range(0, 15).forEach(this::generateEvent);
+
+        //When & Then
+        performAsync(get("/api/events").param("after", "").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.next.href").exists());
+    }
+
+    @Test
+    @TestDescription("비동기 모드에서도 변경되지 않은 이벤트는 304 응답받기")
+    public void getEventNotModified() throws Exception {
+        //Given
+        Event event = generateEvent(100);
+        String eTag = performAsync(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("event100"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //When & Then
+        performAsync(get("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @TestDescription("비동기 모드에서 없는 이벤트를 조회했을 때 404 응답받기")
+    public void getEvent404() throws Exception {
+        //When & Then
+        performAsync(get("/api/events/11542"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @TestDescription("조회 풀과 대기열이 모두 차면 비동기로 넘기지 않고 한 번만 503 응답받기")
+    public void getEventOverloaded() throws Exception {
+        //Given
+        Event event = generateEvent(100);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), new MockHttpServletResponse()));
+        try {
+            // 작업자 하나를 붙잡은 뒤 대기열 한 칸을 채운다. 앞 테스트의 작업자가 아직 돌아오지 않았을 수 있어 차례로 넣는다
+            CountDownLatch running = new CountDownLatch(1);
+            assertThat(block(running, release, done)).isInstanceOf(DeferredResult.class);
+            running.await(10, TimeUnit.SECONDS);
+            assertThat(block(new CountDownLatch(1), release, done)).isInstanceOf(DeferredResult.class);
+
+            //When & Then
+            this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                    .andExpect(request().asyncNotStarted())
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(content().string(""));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+            release.countDown();
+            done.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private Object block(CountDownLatch running, CountDownLatch release, CountDownLatch done) {
+        return this.eventQueryExecutor.execute(() -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = this.mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return this.mockMvc.perform(asyncDispatch(result));
+    }
+
+    private Event generateEvent(int index) {
+        Event event = Event.builder()
+                .name("event" + index)
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2019, 9, 30, 15, 27))
+                .closeEnrollmentDateTime(LocalDateTime.of(2019, 10, 1, 15, 27))
+                .beginEventDateTime(LocalDateTime.of(2019, 10, 2, 15, 27))
+                .endEventDateTime(LocalDateTime.of(2019, 10, 3, 15, 27))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("경성대학교")
+                .eventStatus(EventStatus.DRAFT)
+                .manager(this.manager)
+                .build();
+        return this.eventRepository.save(event);
+    }
+}
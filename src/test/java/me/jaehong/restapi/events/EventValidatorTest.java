@@ -0,0 +1,246 @@
+package me.jaehong.restapi.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 임의로 만든 이벤트 값으로 규칙의 성질을 확인한다. 같은 시드를 써서 실패를 다시 재현할 수 있다.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class EventValidatorTest {
+
+    private static final long SEED = 20191003L;
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2019, 10, 1, 15, 27);
+
+    private static final String[] DATE_FIELDS = {
+            "beginEnrollmentDateTime", "closeEnrollmentDateTime", "beginEventDateTime", "endEventDateTime"
+    };
+
+    private final EventValidator eventValidator = new EventValidator(new SimpleMeterRegistry());
+
+    @Test
+    public void endEventBeforeBeginEvent() {
+        //Given
+        EventDto eventDto = buildEventDto(BASE, BASE.plusDays(1), BASE.plusDays(3), BASE.plusDays(2));
+
+        //When
+        Errors errors = validate(eventDto);
+
+        //Then
+        assertThat(rejected(errors)).containsExactlyInAnyOrder("beginEventDateTime", "endEventDateTime");
+    }
+
+    @Test
+    public void reportsEveryViolation() {
+        //Given
+        EventDto eventDto = buildEventDto(BASE.plusDays(3), BASE.plusDays(2), BASE.plusDays(1), BASE);
+        eventDto.setBasePrice(10000);
+        eventDto.setMaxPrice(200);
+
+        //When
+        Errors errors = validate(eventDto);
+
+        //Then
+        assertThat(rejected(errors)).containsExactlyInAnyOrder("basePrice", "maxPrice", "wrongPrices",
+                "beginEnrollmentDateTime", "closeEnrollmentDateTime", "beginEventDateTime", "endEventDateTime");
+    }
+
+    @Test
+    public void comparesDatesFarApart() {
+        //Given
+        EventDto eventDto = buildEventDto(LocalDateTime.MAX, BASE, BASE, LocalDateTime.MIN);
+
+        //When
+        Errors errors = validate(eventDto);
+
+        //Then
+        assertThat(rejected(errors)).containsExactlyInAnyOrder(DATE_FIELDS);
+    }
+
+    @Test
+    @Parameters
+    public void rejectsDateOutOfOrder(EventDto eventDto) {
+        //When
+        Set<String> rejected = rejected(validate(eventDto));
+
+        //Then
+        LocalDateTime[] dates = dates(eventDto);
+        for (int i = 0; i < dates.length; i++) {
+            boolean outOfOrder = false;
+            for (int j = 0; j < dates.length; j++) {
+                if (dates[i] != null && dates[j] != null
+                        && (j < i && dates[j].isAfter(dates[i]) || j > i && dates[j].isBefore(dates[i]))) {
+                    outOfOrder = true;
+                }
+            }
+            assertThat(rejected.contains(DATE_FIELDS[i])).as(DATE_FIELDS[i] + " of " + eventDto).isEqualTo(outOfOrder);
+        }
+    }
+
+    private Object parametersForRejectsDateOutOfOrder() {
+        return randomEventDtos(500).toArray();
+    }
+
+    @Test
+    @Parameters
+    public void acceptsDatesInOrder(EventDto eventDto) {
+        //Given
+        LocalDateTime[] dates = dates(eventDto);
+        Arrays.sort(dates);
+        eventDto = buildEventDto(dates[0], dates[1], dates[2], dates[3]);
+
+        //When
+        Set<String> rejected = rejected(validate(eventDto));
+
+        //Then
+        assertThat(rejected).doesNotContain(DATE_FIELDS);
+    }
+
+    private Object parametersForAcceptsDatesInOrder() {
+        return randomEventDtos(200).stream()
+                .peek(this::fillDates)
+                .toArray();
+    }
+
+    @Test
+    @Parameters
+    public void rejectsPricesOnlyWhenBaseExceedsLimitedMax(int basePrice, int maxPrice) {
+        //Given
+        EventDto eventDto = buildEventDto(BASE, BASE, BASE, BASE);
+        eventDto.setBasePrice(basePrice);
+        eventDto.setMaxPrice(maxPrice);
+
+        //When
+        Set<String> rejected = rejected(validate(eventDto));
+
+        //Then
+        boolean wrongPrices = maxPrice > 0 && basePrice > maxPrice;
+        assertThat(rejected.contains("wrongPrices")).isEqualTo(wrongPrices);
+        assertThat(rejected.contains("basePrice")).isEqualTo(wrongPrices);
+        assertThat(rejected.contains("maxPrice")).isEqualTo(wrongPrices);
+    }
+
+    private Object parametersForRejectsPricesOnlyWhenBaseExceedsLimitedMax() {
+        Random random = new Random(SEED);
+        return IntStream.range(0, 200)
+                .mapToObj(i -> new Object[] {random.nextInt(4) * 100, random.nextInt(4) * 100})
+                .toArray();
+    }
+
+    @Test
+    public void validateAllReportsSameAsValidate() {
+        //Given
+        List<EventDto> eventDtos = randomEventDtos(2000);
+        List<Errors> errors = eventDtos.stream()
+                .map(eventDto -> new BeanPropertyBindingResult(eventDto, "eventDto"))
+                .collect(Collectors.toList());
+
+        //When
+        this.eventValidator.validateAll(eventDtos, errors);
+
+        //Then
+        for (int i = 0; i < eventDtos.size(); i++) {
+            assertThat(codes(errors.get(i))).isEqualTo(codes(validate(eventDtos.get(i))));
+        }
+    }
+
+    private Errors validate(EventDto eventDto) {
+        Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        this.eventValidator.validate(eventDto, errors);
+        return errors;
+    }
+
+    /**
+     * 거절된 필드 이름과 전역 오류 코드
+     */
+    private Set<String> rejected(Errors errors) {
+        Set<String> rejected = new HashSet<>();
+        errors.getFieldErrors().forEach(error -> rejected.add(error.getField()));
+        errors.getGlobalErrors().forEach(error -> rejected.add(error.getCode()));
+        return rejected;
+    }
+
+    private List<String> codes(Errors errors) {
+        return errors.getAllErrors().stream()
+                .map(error -> (error instanceof FieldError ? ((FieldError) error).getField() + "." : "") + error.getCode())
+                .collect(Collectors.toList());
+    }
+
+    private LocalDateTime[] dates(EventDto eventDto) {
+        return new LocalDateTime[] {
+                eventDto.getBeginEnrollmentDateTime(), eventDto.getCloseEnrollmentDateTime(),
+                eventDto.getBeginEventDateTime(), eventDto.getEndEventDateTime()
+        };
+    }
+
+    private void fillDates(EventDto eventDto) {
+        LocalDateTime[] dates = dates(eventDto);
+        for (int i = 0; i < dates.length; i++) {
+            if (dates[i] == null) {
+                dates[i] = BASE;
+            }
+        }
+        eventDto.setBeginEnrollmentDateTime(dates[0]);
+        eventDto.setCloseEnrollmentDateTime(dates[1]);
+        eventDto.setBeginEventDateTime(dates[2]);
+        eventDto.setEndEventDateTime(dates[3]);
+    }
+
+    /**
+     * 같은 시각, 나노초만 다른 시각, 빈 날짜가 자주 나오도록 좁은 범위에서 고른다.
+     */
+    private List<EventDto> randomEventDtos(int count) {
+        Random random = new Random(SEED);
+        List<EventDto> eventDtos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            EventDto eventDto = buildEventDto(randomDate(random), randomDate(random), randomDate(random), randomDate(random));
+            eventDto.setBasePrice(random.nextInt(3) * 100);
+            eventDto.setMaxPrice(random.nextInt(3) * 100);
+            eventDtos.add(eventDto);
+        }
+        return eventDtos;
+    }
+
+    private LocalDateTime randomDate(Random random) {
+        if (random.nextInt(20) == 0) {
+            return null;
+        }
+        LocalDateTime date = BASE.plusDays(random.nextInt(4) - 2).plusSeconds(random.nextInt(2));
+        return random.nextBoolean() ? date : date.plusNanos(random.nextInt(3));
+    }
+
+    private EventDto buildEventDto(LocalDateTime beginEnrollment, LocalDateTime closeEnrollment,
+                                   LocalDateTime beginEvent, LocalDateTime endEvent) {
+        return EventDto.builder()
+                .name("Spring")
+                .description("REST API development")
+                .beginEnrollmentDateTime(beginEnrollment)
+                .closeEnrollmentDateTime(closeEnrollment)
+                .beginEventDateTime(beginEvent)
+                .endEventDateTime(endEvent)
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("경성대학교")
+                .build();
+    }
+}